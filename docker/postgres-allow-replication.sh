@@ -0,0 +1,3 @@
+#!/bin/sh
+# Lets the standby stream WAL from the primary with the application credentials
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
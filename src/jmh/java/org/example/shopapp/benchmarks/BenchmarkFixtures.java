@@ -0,0 +1,148 @@
+package org.example.shopapp.benchmarks;
+
+import org.example.shopapp.common.entity.Cart;
+import org.example.shopapp.common.entity.CartItem;
+import org.example.shopapp.common.entity.Category;
+import org.example.shopapp.common.entity.Order;
+import org.example.shopapp.common.entity.OrderItem;
+import org.example.shopapp.common.entity.Payment;
+import org.example.shopapp.common.entity.Product;
+import org.example.shopapp.common.entity.Shipment;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities and helpers shared by the benchmarks. Nothing here touches Spring
+ * or the database, so each benchmark measures only the code under test.
+ */
+final class BenchmarkFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Category category() {
+        return Category.builder()
+                .id(1L)
+                .name("Electronics")
+                .description("Phones, laptops and accessories")
+                .createdAt(CREATED_AT)
+                .build();
+    }
+
+    static Product product(long id, Category category) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Description of benchmark product " + id)
+                .price(BigDecimal.valueOf(1999 + id, 2))
+                .stock(100)
+                .imageUrl("https://cdn.example.org/products/" + id + ".jpg")
+                .isActive(true)
+                .createdAt(CREATED_AT)
+                .category(category)
+                .build();
+    }
+
+    static Cart cart(int size) {
+        Category category = category();
+        List<CartItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = product(i + 1, category);
+            items.add(CartItem.builder()
+                    .id((long) i + 1)
+                    .quantity(1 + i % 3)
+                    .price(product.getPrice())
+                    .createdAt(CREATED_AT)
+                    .product(product)
+                    .build());
+        }
+        return Cart.builder()
+                .id(1L)
+                .cartItems(items)
+                .createdAt(CREATED_AT)
+                .build();
+    }
+
+    static Order order(int size) {
+        Category category = category();
+        List<OrderItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = product(i + 1, category);
+            items.add(OrderItem.builder()
+                    .id((long) i + 1)
+                    .quantity(1 + i % 3)
+                    .price(product.getPrice())
+                    .productName(product.getName())
+                    .createdAt(CREATED_AT)
+                    .product(product)
+                    .build());
+        }
+        return Order.builder()
+                .id(1L)
+                .orderNumber("ORD-BENCHMARK")
+                .totalPrice(BigDecimal.valueOf(12345, 2))
+                .status(Order.OrderStatus.PAID)
+                .shippingAddress("1 Benchmark Street")
+                .billingAddress("1 Benchmark Street")
+                .createdAt(CREATED_AT)
+                .orderItems(items)
+                .payment(Payment.builder()
+                        .id(1L)
+                        .amount(BigDecimal.valueOf(12345, 2))
+                        .status(Payment.PaymentStatus.COMPLETED)
+                        .paymentMethod(Payment.PaymentMethod.CREDIT_CARD)
+                        .transactionId("TXN-BENCHMARK")
+                        .createdAt(CREATED_AT)
+                        .build())
+                .shipment(Shipment.builder()
+                        .id(1L)
+                        .courier("DHL")
+                        .trackingNumber("TRK-BENCHMARK")
+                        .shippingAddress("1 Benchmark Street")
+                        .createdAt(CREATED_AT)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Instantiates a service with null collaborators; good enough for its mapping
+     * methods, which only read the entity they are given.
+     */
+    static <T> T newWithoutDependencies(Class<T> type) throws ReflectiveOperationException {
+        Constructor<?> constructor = type.getDeclaredConstructors()[0];
+        Object[] arguments = new Object[constructor.getParameterCount()];
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        for (int i = 0; i < arguments.length; i++) {
+            if (parameterTypes[i] == int.class) {
+                arguments[i] = 0;
+            } else if (parameterTypes[i] == long.class) {
+                arguments[i] = 0L;
+            } else if (parameterTypes[i] == boolean.class) {
+                arguments[i] = false;
+            }
+        }
+        constructor.setAccessible(true);
+        return type.cast(constructor.newInstance(arguments));
+    }
+
+    /**
+     * Handle to a private {@code mapTo*Response} method, bound to {@code target} and typed
+     * {@code (Object)Object} so benchmarks can call it with {@code invokeExact}.
+     */
+    static MethodHandle mapper(Object target, String name, Class<?> parameterType) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(target.getClass(), MethodHandles.lookup());
+        Class<?> returnType = target.getClass().getDeclaredMethod(name, parameterType).getReturnType();
+        return lookup.findVirtual(target.getClass(), name, MethodType.methodType(returnType, parameterType))
+                .bindTo(target)
+                .asType(MethodType.methodType(Object.class, Object.class));
+    }
+}
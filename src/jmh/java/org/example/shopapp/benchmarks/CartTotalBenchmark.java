@@ -0,0 +1,36 @@
+package org.example.shopapp.benchmarks;
+
+import org.example.shopapp.common.entity.Cart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CartTotalBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int cartSize;
+
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        cart = BenchmarkFixtures.cart(cartSize);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalPrice() {
+        cart.calculateTotalPrice();
+        return cart.getTotalPrice();
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.shopapp.benchmarks;
+
+import jakarta.servlet.http.Cookie;
+import org.example.shopapp.common.security.CookieUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CookieUtilBenchmark {
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        // A browser request usually carries analytics and consent cookies ahead of ours
+        request = new MockHttpServletRequest();
+        request.setCookies(
+                new Cookie("_ga", "GA1.1.123456789.1700000000"),
+                new Cookie("_gid", "GA1.1.987654321.1700000000"),
+                new Cookie("cookie_consent", "all"),
+                new Cookie("JSESSIONID", "0123456789ABCDEF0123456789ABCDEF"),
+                new Cookie(CookieUtil.REFRESH_TOKEN_COOKIE, "refresh-token-value"),
+                new Cookie(CookieUtil.ACCESS_TOKEN_COOKIE, "access-token-value"));
+    }
+
+    @Benchmark
+    public Optional<String> getCookie() {
+        return CookieUtil.getCookie(request, CookieUtil.ACCESS_TOKEN_COOKIE);
+    }
+
+    @Benchmark
+    public Optional<String> getMissingCookie() {
+        return CookieUtil.getCookie(request, "MISSING");
+    }
+
+    @Benchmark
+    public String buildSetCookieHeader() {
+        return CookieUtil.buildSetCookieHeader(CookieUtil.ACCESS_TOKEN_COOKIE, "access-token-value",
+                3600, true, "Lax", "/", "example.org");
+    }
+}
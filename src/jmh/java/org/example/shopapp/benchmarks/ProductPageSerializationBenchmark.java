@@ -0,0 +1,212 @@
+package org.example.shopapp.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.example.shopapp.common.dto.response.ApiResponse;
+import org.example.shopapp.common.dto.response.PageResponse;
+import org.example.shopapp.common.entity.Category;
+import org.example.shopapp.common.web.EncodedResponseCache;
+import org.example.shopapp.product.dto.response.CategoryResponse;
+import org.example.shopapp.product.dto.response.ProductResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization of a product listing response, the largest payload on the hot read path:
+ * Spring Data's {@code PageImpl} as it used to be returned, the {@link PageResponse} that
+ * replaced it, its CBOR and Smile encodings for clients that ask for them, parsing each
+ * of those back as a client would, and writing the bytes {@link EncodedResponseCache}
+ * keeps. Setup prints the encoded size of each, plain and gzipped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductPageSerializationBenchmark {
+
+    private static final TypeReference<ApiResponse<PageResponse<ProductResponse>>> LEAN_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"1", "10", "50"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private EncodedResponseCache encodedResponses;
+    private MockHttpServletRequest request;
+    private ApiResponse<Page<ProductResponse>> response;
+    private ApiResponse<PageResponse<ProductResponse>> leanResponse;
+    private ObjectWriter cborWriter;
+    private ObjectWriter smileWriter;
+    private ObjectReader jsonReader;
+    private ObjectReader cborReader;
+    private ObjectReader smileReader;
+    private byte[] json;
+    private byte[] cbor;
+    private byte[] smile;
+
+    @Setup
+    public void setUp() {
+        // Same modules and defaults as the ObjectMapper Spring Boot builds for MVC
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+        writer = objectMapper.writer();
+        cborWriter = cborMapper.writer();
+        smileWriter = smileMapper.writer();
+        jsonReader = objectMapper.readerFor(LEAN_TYPE);
+        cborReader = cborMapper.readerFor(LEAN_TYPE);
+        smileReader = smileMapper.readerFor(LEAN_TYPE);
+        encodedResponses = new EncodedResponseCache(objectMapper, new MappingJackson2CborHttpMessageConverter(cborMapper),
+                new MappingJackson2SmileHttpMessageConverter(smileMapper), DataSize.ofMegabytes(1), true, DataSize.ofKilobytes(1));
+        request = new MockHttpServletRequest("GET", "/api/products");
+
+        Category category = BenchmarkFixtures.category();
+        CategoryResponse categoryResponse = CategoryResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .createdAt(category.getCreatedAt())
+                .build();
+        List<ProductResponse> products = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            var product = BenchmarkFixtures.product(i + 1, category);
+            products.add(ProductResponse.builder()
+                    .id(product.getId())
+                    .name(product.getName())
+                    .description(product.getDescription())
+                    .price(product.getPrice())
+                    .stock(product.getStock())
+                    .imageUrl(product.getImageUrl())
+                    .isActive(product.getIsActive())
+                    .createdAt(product.getCreatedAt())
+                    .category(categoryResponse)
+                    .build());
+        }
+        Page<ProductResponse> page = new PageImpl<>(products, PageRequest.of(0, pageSize, Sort.by("id")), 10_000);
+        response = ApiResponse.success("Products retrieved successfully", page);
+        leanResponse = ApiResponse.success("Products retrieved successfully", PageResponse.of(page));
+
+        try {
+            json = writer.writeValueAsBytes(leanResponse);
+            cbor = cborWriter.writeValueAsBytes(leanResponse);
+            smile = smileWriter.writeValueAsBytes(leanResponse);
+            System.out.printf("%n%d products: PageImpl %d bytes, PageResponse %d bytes (gzip %d), CBOR %d (gzip %d), "
+                            + "Smile %d (gzip %d)%n", pageSize, writer.writeValueAsBytes(response).length,
+                    json.length, gzipSize(json), cbor.length, gzipSize(cbor), smile.length, gzipSize(smile));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeLean() throws Exception {
+        return writer.writeValueAsBytes(leanResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeCbor() throws Exception {
+        return cborWriter.writeValueAsBytes(leanResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeSmile() throws Exception {
+        return smileWriter.writeValueAsBytes(leanResponse);
+    }
+
+    @Benchmark
+    public Object parseJson() throws Exception {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public Object parseCbor() throws Exception {
+        return cborReader.readValue(cbor);
+    }
+
+    @Benchmark
+    public Object parseSmile() throws Exception {
+        return smileReader.readValue(smile);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse writeEncoded() throws Exception {
+        BufferedResponse servletResponse = new BufferedResponse();
+        encodedResponses.writeOk(leanResponse, () -> leanResponse, CacheControl.noCache(), request, servletResponse);
+        return servletResponse;
+    }
+
+    private static int gzipSize(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.size();
+    }
+
+    /**
+     * MockHttpServletResponse copies its body a byte at a time once a content length is set,
+     * which would dominate the measurement; a servlet container copies whole arrays.
+     */
+    private static class BufferedResponse extends MockHttpServletResponse {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(16 * 1024);
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                body.write(b, off, len);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
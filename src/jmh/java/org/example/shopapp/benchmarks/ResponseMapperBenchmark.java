@@ -0,0 +1,80 @@
+package org.example.shopapp.benchmarks;
+
+import org.example.shopapp.cart.service.CartService;
+import org.example.shopapp.common.entity.Cart;
+import org.example.shopapp.common.entity.Order;
+import org.example.shopapp.common.entity.Product;
+import org.example.shopapp.order.service.OrderService;
+import org.example.shopapp.product.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping in the services, called through method handles since the
+ * mappers are private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseMapperBenchmark {
+
+    private MethodHandle productMapper;
+    private MethodHandle orderMapper;
+    private MethodHandle cartMapper;
+    private Product product;
+
+    /**
+     * Orders and carts of several sizes; a separate state so only their benchmarks are
+     * parameterized by size.
+     */
+    @State(Scope.Benchmark)
+    public static class Items {
+
+        @Param({"1", "10", "50"})
+        private int itemCount;
+
+        private Order order;
+        private Cart cart;
+
+        @Setup
+        public void setUp() {
+            order = BenchmarkFixtures.order(itemCount);
+            cart = BenchmarkFixtures.cart(itemCount);
+        }
+    }
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        productMapper = BenchmarkFixtures.mapper(BenchmarkFixtures.newWithoutDependencies(ProductService.class),
+                "mapToProductResponse", Product.class);
+        orderMapper = BenchmarkFixtures.mapper(BenchmarkFixtures.newWithoutDependencies(OrderService.class),
+                "mapToOrderResponse", Order.class);
+        cartMapper = BenchmarkFixtures.mapper(BenchmarkFixtures.newWithoutDependencies(CartService.class),
+                "mapToCartResponse", Cart.class);
+        product = BenchmarkFixtures.product(1, BenchmarkFixtures.category());
+    }
+
+    @Benchmark
+    public Object mapProduct() throws Throwable {
+        return (Object) productMapper.invokeExact((Object) product);
+    }
+
+    @Benchmark
+    public Object mapOrder(Items items) throws Throwable {
+        return (Object) orderMapper.invokeExact((Object) items.order);
+    }
+
+    @Benchmark
+    public Object mapCart(Items items) throws Throwable {
+        return (Object) cartMapper.invokeExact((Object) items.cart);
+    }
+}
@@ -5,19 +5,26 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.example.shopapp.admin.dto.response.SalesReportResponse;
+import org.example.shopapp.admin.service.ReportingService;
+import org.example.shopapp.common.diagnostics.PinningReport;
+import org.example.shopapp.common.diagnostics.VirtualThreadPinningMonitor;
 import org.example.shopapp.common.dto.response.ApiResponse;
+import org.example.shopapp.common.dto.response.PageResponse;
+import org.example.shopapp.common.web.PageCursors;
 import org.example.shopapp.product.dto.response.CategoryResponse;
 import org.example.shopapp.product.dto.response.ProductResponse;
 import org.example.shopapp.product.service.CategoryService;
 import org.example.shopapp.product.service.ProductService;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -29,6 +36,8 @@ public class AdminController {
     
     private final ProductService productService;
     private final CategoryService categoryService;
+    private final ReportingService reportingService;
+    private final VirtualThreadPinningMonitor pinningMonitor;
     
     // Category Management
     @Operation(summary = "Create category", description = "Creates a new product category (Admin only)")
@@ -94,17 +103,52 @@ public class AdminController {
     @Operation(summary = "Get all products (Admin)", description = "Retrieves all products with admin privileges (Admin only)")
     @GetMapping("/products")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Page<ProductResponse>>> getAllProducts(
+    public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> getAllProducts(
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "id") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor) {
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageCursors.pageable(cursor, page, size, sort);
         
         Page<ProductResponse> products = productService.getAllProducts(pageable);
-        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", PageResponse.of(products)));
+    }
+    
+    // Reports
+    @Operation(summary = "Sales report", description = "Order counts, revenue and payment totals for a period, defaulting to the last 30 days (Admin only)")
+    @GetMapping("/reports/sales")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<SalesReportResponse>> getSalesReport(
+            @Parameter(description = "Period start (ISO date-time)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Period end (ISO date-time)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            LocalDateTime end = to != null ? to : LocalDateTime.now();
+            LocalDateTime start = from != null ? from : end.minusDays(30);
+            SalesReportResponse report = reportingService.getSalesReport(start, end);
+            return ResponseEntity.ok(ApiResponse.success("Sales report retrieved successfully", report));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    // Diagnostics
+    @Operation(summary = "Virtual thread pinning", description = "Reports where virtual threads were pinned to their carrier since start-up (Admin only)")
+    @GetMapping("/diagnostics/pinning")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<PinningReport>> getPinningReport() {
+        try {
+            PinningReport report = pinningMonitor.report();
+            return ResponseEntity.ok(ApiResponse.success("Pinning report retrieved successfully", report));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
     }
 }
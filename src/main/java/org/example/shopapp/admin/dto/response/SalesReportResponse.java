@@ -0,0 +1,36 @@
+package org.example.shopapp.admin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.shopapp.common.entity.Order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportResponse {
+    
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long orderCount;
+    private BigDecimal revenue;
+    private Map<Order.OrderStatus, StatusTotal> byStatus;
+    private BigDecimal paymentsCompleted;
+    private BigDecimal paymentsRefunded;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusTotal {
+        
+        private long orders;
+        private BigDecimal revenue;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.shopapp.admin.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.shopapp.admin.dto.response.SalesReportResponse;
+import org.example.shopapp.common.datasource.DataSourcePool;
+import org.example.shopapp.common.entity.Order;
+import org.example.shopapp.common.entity.Payment;
+import org.example.shopapp.order.repository.OrderRepository;
+import org.example.shopapp.order.repository.PaymentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admin reports. Runs on the reporting pool, so long scans wait for reporting
+ * connections and are cut off by its statement timeout instead of holding the
+ * connections checkout needs.
+ */
+@Service
+@RequiredArgsConstructor
+@DataSourcePool(DataSourcePool.REPORTING)
+public class ReportingService {
+    
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    
+    @Transactional(readOnly = true)
+    public SalesReportResponse getSalesReport(LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Report start must not be after its end");
+        }
+        
+        Map<Order.OrderStatus, SalesReportResponse.StatusTotal> byStatus = new EnumMap<>(Order.OrderStatus.class);
+        long orderCount = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (OrderRepository.StatusTotals totals : orderRepository.summarizeByStatus(from, to)) {
+            BigDecimal statusRevenue = totals.getRevenue() != null ? totals.getRevenue() : BigDecimal.ZERO;
+            byStatus.put(totals.getStatus(), SalesReportResponse.StatusTotal.builder()
+                    .orders(totals.getOrders())
+                    .revenue(statusRevenue)
+                    .build());
+            orderCount += totals.getOrders();
+            if (totals.getStatus() != Order.OrderStatus.CANCELLED) {
+                revenue = revenue.add(statusRevenue);
+            }
+        }
+        
+        return SalesReportResponse.builder()
+                .from(from)
+                .to(to)
+                .orderCount(orderCount)
+                .revenue(revenue)
+                .byStatus(byStatus)
+                .paymentsCompleted(paymentTotal(Payment.PaymentStatus.COMPLETED, from, to))
+                .paymentsRefunded(paymentTotal(Payment.PaymentStatus.REFUNDED, from, to))
+                .build();
+    }
+    
+    private BigDecimal paymentTotal(Payment.PaymentStatus status, LocalDateTime from, LocalDateTime to) {
+        Double total = paymentRepository.getTotalAmountByStatusAndDateRange(status, from, to);
+        return total != null ? BigDecimal.valueOf(total) : BigDecimal.ZERO;
+    }
+}
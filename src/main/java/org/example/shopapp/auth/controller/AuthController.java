@@ -11,6 +11,8 @@ import org.example.shopapp.common.dto.response.ApiResponse;
 import org.example.shopapp.auth.dto.response.AuthResponse;
 import org.example.shopapp.auth.dto.response.UserResponse;
 import org.example.shopapp.auth.service.AuthService;
+import org.example.shopapp.common.exception.LoginThrottledException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.example.shopapp.common.security.CookieUtil;
 import org.springframework.http.ResponseEntity;
@@ -51,6 +53,10 @@ public class AuthController {
             auth.setAccessToken(null);
             auth.setRefreshToken(null);
             return ResponseEntity.ok().headers(headers).body(ApiResponse.success("Login successful", auth));
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
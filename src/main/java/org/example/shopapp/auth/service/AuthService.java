@@ -15,10 +15,14 @@ import org.example.shopapp.common.security.JwtUtil;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
 
@@ -32,6 +36,7 @@ public class AuthService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final TokenRepository tokenRepository;
+    private final LoginAttemptService loginAttemptService;
     
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -76,12 +81,23 @@ public class AuthService {
     }
     
     public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsernameOrEmail(),
-                        request.getPassword()
-                )
-        );
+        // Reject known-bad accounts and IPs before spending a BCrypt hash on them
+        String clientIp = currentClientIp();
+        loginAttemptService.checkAllowed(request.getUsernameOrEmail(), clientIp);
+        
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getUsernameOrEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            loginAttemptService.loginFailed(request.getUsernameOrEmail(), clientIp);
+            throw e;
+        }
+        loginAttemptService.loginSucceeded(request.getUsernameOrEmail());
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
@@ -105,6 +121,14 @@ public class AuthService {
                 .build();
     }
 
+    private String currentClientIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
     private void persistRefreshToken(User user, String refreshToken) {
         Token token = Token.builder()
                 .user(user)
@@ -117,6 +141,7 @@ public class AuthService {
         tokenRepository.save(token);
     }
     
+    @Transactional(readOnly = true)
     public UserResponse getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
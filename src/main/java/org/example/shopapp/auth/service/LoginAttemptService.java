@@ -0,0 +1,92 @@
+package org.example.shopapp.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.example.shopapp.common.exception.LoginThrottledException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Counts failed logins per account and per client IP in fixed windows. Once a
+ * counter passes its limit further attempts are rejected before any password
+ * hash is computed, which is what makes credential stuffing cheap to shed.
+ * Counters are held in bounded caches that drop a window once it has ended, so
+ * random usernames cannot grow them past {@code max-tracked-keys}.
+ */
+@Service
+@Slf4j
+public class LoginAttemptService {
+
+    private final Cache<String, FailureWindow> accountFailures;
+    private final Cache<String, FailureWindow> ipFailures;
+    private final int maxFailuresPerAccount;
+    private final int maxFailuresPerIp;
+    private final long windowMillis;
+
+    public LoginAttemptService(@Value("${login-protection.max-failures-per-account:5}") int maxFailuresPerAccount,
+                               @Value("${login-protection.max-failures-per-ip:20}") int maxFailuresPerIp,
+                               @Value("${login-protection.window:15m}") Duration window,
+                               @Value("${login-protection.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.maxFailuresPerAccount = maxFailuresPerAccount;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.windowMillis = window.toMillis();
+        this.accountFailures = failureCache(window, maxTrackedKeys);
+        this.ipFailures = failureCache(window, maxTrackedKeys);
+    }
+
+    public void checkAllowed(String account, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (isBlocked(accountFailures.getIfPresent(normalize(account)), maxFailuresPerAccount, now)
+                || (clientIp != null && isBlocked(ipFailures.getIfPresent(clientIp), maxFailuresPerIp, now))) {
+            throw new LoginThrottledException("Too many failed login attempts. Please try again later.",
+                    Math.max(1, windowMillis / 1000));
+        }
+    }
+
+    public void loginFailed(String account, String clientIp) {
+        long now = System.currentTimeMillis();
+        String normalized = normalize(account);
+        if (recordFailure(accountFailures, normalized, now) == maxFailuresPerAccount) {
+            log.warn("Locking out account {} after {} failed logins", normalized, maxFailuresPerAccount);
+        }
+        if (clientIp != null && recordFailure(ipFailures, clientIp, now) == maxFailuresPerIp) {
+            log.warn("Locking out client {} after {} failed logins", clientIp, maxFailuresPerIp);
+        }
+    }
+
+    public void loginSucceeded(String account) {
+        accountFailures.invalidate(normalize(account));
+    }
+
+    private boolean isBlocked(FailureWindow window, int maxFailures, long now) {
+        return window != null && window.startedAt + windowMillis > now && window.failures >= maxFailures;
+    }
+
+    /**
+     * @return failures in the current window, including this one
+     */
+    private int recordFailure(Cache<String, FailureWindow> failures, String key, long now) {
+        return failures.asMap().compute(key, (k, window) -> window == null || window.startedAt + windowMillis <= now
+                ? new FailureWindow(now, 1)
+                : new FailureWindow(window.startedAt, window.failures + 1)).failures();
+    }
+
+    private static Cache<String, FailureWindow> failureCache(Duration window, int maxTrackedKeys) {
+        // A window ends at most this long after its last failure was recorded
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    private String normalize(String account) {
+        return account == null ? "" : account.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record FailureWindow(long startedAt, int failures) {
+    }
+}
@@ -7,6 +7,7 @@ import org.example.shopapp.auth.dto.request.OtpVerificationRequest;
 import org.example.shopapp.common.entity.Otp;
 import org.example.shopapp.common.exception.InvalidOtpException;
 import org.example.shopapp.auth.repository.OtpRepository;
+import org.example.shopapp.common.metrics.ShopMetrics;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +20,7 @@ import java.util.Random;
 public class OtpService {
     
     private final OtpRepository otpRepository;
+    private final ShopMetrics shopMetrics;
     private static final int OTP_LENGTH = 6;
     private static final int OTP_EXPIRY_MINUTES = 5;
     private static final int MAX_OTP_ATTEMPTS = 3;
@@ -33,6 +35,7 @@ public class OtpService {
         long recentOtps = otpRepository.countByPhoneNumberSince(phoneNumber, oneHourAgo);
         
         if (recentOtps >= MAX_OTP_REQUESTS_PER_HOUR) {
+            shopMetrics.otp(ShopMetrics.OtpOutcome.THROTTLED);
             throw new RuntimeException("Too many OTP requests. Please try again later.");
         }
         
@@ -54,6 +57,7 @@ public class OtpService {
         
         // In a real application, you would send SMS here
         log.info("OTP for {}: {}", phoneNumber, otpCode);
+        shopMetrics.otp(ShopMetrics.OtpOutcome.SENT);
         
         return "OTP sent successfully to " + phoneNumber;
     }
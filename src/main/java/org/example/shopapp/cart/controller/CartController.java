@@ -11,8 +11,10 @@ import org.example.shopapp.common.dto.response.ApiResponse;
 import org.example.shopapp.cart.dto.response.CartItemResponse;
 import org.example.shopapp.cart.dto.response.CartResponse;
 import org.example.shopapp.cart.service.CartService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/cart")
@@ -23,12 +25,19 @@ public class CartController {
     
     private final CartService cartService;
     
-    @Operation(summary = "Get current user cart", description = "Retrieves the current user's shopping cart with all items")
+    @Operation(summary = "Get current user cart", description = "Retrieves the current user's shopping cart with all items. " +
+            "Supports If-None-Match with the returned ETag")
     @GetMapping
-    public ResponseEntity<ApiResponse<CartResponse>> getCurrentUserCart() {
+    public ResponseEntity<ApiResponse<CartResponse>> getCurrentUserCart(WebRequest webRequest) {
         try {
+            String eTag = cartService.getCurrentUserCartETag();
+            if (eTag != null && webRequest.checkNotModified(eTag)) {
+                return null;
+            }
             CartResponse cart = cartService.getCurrentUserCart();
-            return ResponseEntity.ok(ApiResponse.success("Cart retrieved successfully", cart));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(ApiResponse.success("Cart retrieved successfully", cart));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
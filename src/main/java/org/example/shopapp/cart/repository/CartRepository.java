@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +18,15 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUserIdWithItems(@Param("userId") Long userId);
     
     boolean existsByUserId(Long userId);
+    
+    @Query("SELECT c.id AS id, c.updatedAt AS updatedAt, MAX(ci.updatedAt) AS itemsUpdatedAt, COUNT(ci) AS itemCount " +
+           "FROM Cart c LEFT JOIN c.cartItems ci WHERE c.user.id = :userId GROUP BY c.id, c.updatedAt")
+    Optional<CartVersion> findVersionByUserId(@Param("userId") Long userId);
+    
+    interface CartVersion {
+        Long getId();
+        LocalDateTime getUpdatedAt();
+        LocalDateTime getItemsUpdatedAt();
+        Long getItemCount();
+    }
 }
@@ -6,16 +6,19 @@ import org.example.shopapp.cart.dto.request.AddToCartRequest;
 import org.example.shopapp.cart.dto.request.UpdateCartItemRequest;
 import org.example.shopapp.cart.dto.response.CartItemResponse;
 import org.example.shopapp.cart.dto.response.CartResponse;
+import org.example.shopapp.common.catalog.CatalogVersion;
 import org.example.shopapp.common.entity.Cart;
 import org.example.shopapp.common.entity.CartItem;
 import org.example.shopapp.common.entity.Product;
 import org.example.shopapp.common.entity.User;
 import org.example.shopapp.common.exception.CartNotFoundException;
 import org.example.shopapp.common.exception.ProductNotFoundException;
+import org.example.shopapp.common.web.ETags;
 import org.example.shopapp.cart.repository.CartItemRepository;
 import org.example.shopapp.cart.repository.CartRepository;
 import org.example.shopapp.product.repository.ProductRepository;
 import org.example.shopapp.product.dto.response.ProductResponse;
+import org.example.shopapp.product.trending.TrendingTracker;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,7 +33,10 @@ public class CartService {
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
+    private final CatalogVersion catalogVersion;
+    private final TrendingTracker trendingTracker;
     
+    @Transactional(readOnly = true)
     public CartResponse getCurrentUserCart() {
         User currentUser = getCurrentUser();
         Cart cart = cartRepository.findByUserIdWithItems(currentUser.getId())
@@ -39,6 +45,19 @@ public class CartService {
         return mapToCartResponse(cart);
     }
     
+    /**
+     * ETag of the current user's cart, or null when the user has no cart. Items embed
+     * product data, so the catalog version is part of the tag.
+     */
+    @Transactional(readOnly = true)
+    public String getCurrentUserCartETag() {
+        User currentUser = getCurrentUser();
+        return cartRepository.findVersionByUserId(currentUser.getId())
+                .map(version -> ETags.of("cart", version.getId(), version.getUpdatedAt(),
+                        version.getItemsUpdatedAt(), version.getItemCount(), catalogVersion.token()))
+                .orElse(null);
+    }
+    
     @Transactional
     public CartItemResponse addToCart(AddToCartRequest request) {
         User currentUser = getCurrentUser();
@@ -52,6 +71,7 @@ public class CartService {
         if (product.getStock() < request.getQuantity()) {
             throw new RuntimeException("Insufficient stock");
         }
+        trendingTracker.record(product.getId(), TrendingTracker.Signal.ADD_TO_CART);
         
         // Get or create cart
         Cart cart = cartRepository.findByUserId(currentUser.getId())
@@ -81,6 +101,7 @@ public class CartService {
                     .build();
             
             cartItemRepository.save(cartItem);
+            cart.getCartItems().add(cartItem);
         }
         
         // Update cart total
@@ -0,0 +1,70 @@
+package org.example.shopapp.common.catalog;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.example.shopapp.common.entity.Category;
+import org.example.shopapp.common.entity.Product;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener on {@code Product} and {@code Category}. Hibernate obtains it from
+ * the Spring context, so every write path (services, repositories, cascades) moves the
+ * catalog version once its transaction commits and feeds the in-memory product indexes.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeListener {
+
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onCatalogChange(Object entity) {
+        bumpVersionAfterCommit();
+        if (entity instanceof Product product) {
+            eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), toDocument(product)));
+        } else if (entity instanceof Category category) {
+            eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(),
+                    new CategoryDocument(category.getId(), category.getName())));
+        }
+    }
+
+    @PostRemove
+    public void onCatalogRemove(Object entity) {
+        bumpVersionAfterCommit();
+        if (entity instanceof Product product) {
+            eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), null));
+        } else if (entity instanceof Category category) {
+            eventPublisher.publishEvent(new CategoryChangedEvent(category.getId(), null));
+        }
+    }
+
+    private void bumpVersionAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    catalogVersion.increment();
+                }
+            });
+        } else {
+            catalogVersion.increment();
+        }
+    }
+
+    private ProductDocument toDocument(Product product) {
+        return new ProductDocument(
+                product.getId(),
+                product.getName(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getPrice(),
+                product.getStock(),
+                Boolean.TRUE.equals(product.getIsActive()));
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.shopapp.common.catalog;
+
+import org.example.shopapp.common.web.ETags;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local version of the product catalog, bumped after every committed product or
+ * category write. Listing ETags combine it with a random per-node epoch so tags issued
+ * before a restart, or by another node, never match a reset counter.
+ */
+@Component
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void increment() {
+        version.incrementAndGet();
+    }
+
+    public String token() {
+        return epoch + "." + version.get();
+    }
+
+    public String eTag(String scope) {
+        return eTag(scope, version.get());
+    }
+
+    public String eTag(String scope, long version) {
+        return ETags.of("catalog", epoch, version, Integer.toHexString(scope.hashCode()));
+    }
+}
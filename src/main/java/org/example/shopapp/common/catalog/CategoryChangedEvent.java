@@ -0,0 +1,12 @@
+package org.example.shopapp.common.catalog;
+
+/**
+ * Published for every persisted, updated or removed category. {@code document} is the
+ * category's state after the change, or null when the category was deleted.
+ */
+public record CategoryChangedEvent(Long categoryId, CategoryDocument document) {
+
+    public boolean isRemoved() {
+        return document == null;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.shopapp.common.catalog;
+
+/**
+ * The fields of a category that the in-memory catalog indexes work from.
+ */
+public record CategoryDocument(Long id, String name) {
+}
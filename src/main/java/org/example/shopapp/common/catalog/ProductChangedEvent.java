@@ -0,0 +1,12 @@
+package org.example.shopapp.common.catalog;
+
+/**
+ * Published for every persisted, updated or removed product. {@code document} is the
+ * product's state after the change, or null when the product was deleted.
+ */
+public record ProductChangedEvent(Long productId, ProductDocument document) {
+
+    public boolean isRemoved() {
+        return document == null;
+    }
+}
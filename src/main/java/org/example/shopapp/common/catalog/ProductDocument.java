@@ -0,0 +1,13 @@
+package org.example.shopapp.common.catalog;
+
+import java.math.BigDecimal;
+
+/**
+ * The fields of a product that the in-memory catalog indexes work from.
+ */
+public record ProductDocument(Long id, String name, Long categoryId, BigDecimal price, Integer stock, boolean active) {
+
+    public boolean inStock() {
+        return stock != null && stock > 0;
+    }
+}
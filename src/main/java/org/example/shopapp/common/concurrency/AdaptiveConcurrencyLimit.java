@@ -0,0 +1,129 @@
+package org.example.shopapp.common.concurrency;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A limit on in-flight requests that follows measured latency, after the gradient
+ * algorithm of Netflix's concurrency-limits. Endpoints differ by orders of magnitude
+ * (a cached product versus a payment), so every sample is first divided by its route's
+ * baseline: a running estimate of that route's unloaded latency which drops quickly
+ * and rises slowly. While recent requests take no more than {@code tolerance} times
+ * their baseline the limit grows by about its square root per sample; when they queue
+ * behind a slow database or a saturated CPU the limit shrinks in proportion. A request
+ * that failed with an overload response also cuts the limit by {@code backoffRatio}.
+ * <p>
+ * Completing requests only queue their sample. Whichever of them gets the update lock
+ * applies everything queued so far; the others return without waiting for it.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double RATIO_WINDOW = 10;
+    private static final double BASELINE_FALL_WINDOW = 10;
+    private static final double BASELINE_RISE_WINDOW = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Sample> pendingSamples = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    // Guarded by updateLock
+    private final Map<String, double[]> baselineNanosByRoute = new HashMap<>();
+    private volatile double limit;
+    private double latencyRatio = 1;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double tolerance, double smoothing, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limit bounds must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Admits a request if fewer than {@code share} of the limit are in flight. Every
+     * admitted request must be followed by exactly one {@link #release}.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param route           the endpoint the request was served by, for its latency baseline
+     * @param inFlightAtStart requests in flight when this one was admitted, including it
+     * @param overloaded      whether the request failed in a way that signals overload
+     */
+    public void release(String route, long rttNanos, int inFlightAtStart, boolean overloaded) {
+        inFlight.decrementAndGet();
+        onSample(route, rttNanos, inFlightAtStart, overloaded);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    void onSample(String route, long rttNanos, int inFlightAtStart, boolean overloaded) {
+        pendingSamples.add(new Sample(route, rttNanos, inFlightAtStart, overloaded));
+        // Re-checked after unlocking: a sample queued while the holder was finishing
+        // would otherwise wait for the next request to complete
+        while (!pendingSamples.isEmpty() && updateLock.tryLock()) {
+            try {
+                Sample sample;
+                while ((sample = pendingSamples.poll()) != null) {
+                    apply(sample);
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void apply(Sample sample) {
+        double rtt = Math.max(1, sample.rttNanos());
+        double[] baseline = baselineNanosByRoute.computeIfAbsent(sample.route(), r -> new double[]{rtt});
+        latencyRatio += (rtt / baseline[0] - latencyRatio) / RATIO_WINDOW;
+        baseline[0] += (rtt - baseline[0]) / (rtt < baseline[0] ? BASELINE_FALL_WINDOW : BASELINE_RISE_WINDOW);
+
+        double current = limit;
+        if (sample.overloaded()) {
+            limit = Math.max(minLimit, current * backoffRatio);
+            return;
+        }
+        // Latency measured far below the limit says nothing about how much more fits
+        if (sample.inFlightAtStart() < current / 2) {
+            return;
+        }
+
+        double gradient = Math.clamp(tolerance / latencyRatio, 0.5, 1.0);
+        double target = current * gradient + Math.sqrt(current);
+        limit = Math.clamp(current * (1 - smoothing) + target * smoothing, minLimit, maxLimit);
+    }
+
+    private record Sample(String route, long rttNanos, int inFlightAtStart, boolean overloaded) {
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.shopapp.common.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(
+            @Value("${concurrency-limit.initial-limit:50}") int initialLimit,
+            @Value("${concurrency-limit.min-limit:20}") int minLimit,
+            @Value("${concurrency-limit.max-limit:400}") int maxLimit,
+            @Value("${concurrency-limit.tolerance:2.0}") double tolerance,
+            @Value("${concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${concurrency-limit.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing, backoffRatio);
+    }
+
+    /**
+     * Route classes, first match wins; anything unmatched counts as catalog traffic.
+     */
+    @Bean
+    public List<PriorityRule> priorityRules() {
+        return List.of(
+                new PriorityRule("POST", "/api/orders", RequestPriority.CHECKOUT),
+                new PriorityRule("POST", "/api/payments", RequestPriority.CHECKOUT),
+                new PriorityRule(null, "/api/cart", RequestPriority.CART),
+                new PriorityRule(null, "/api/auth", RequestPriority.CART),
+                new PriorityRule(null, "/api/admin", RequestPriority.REPORTING));
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.shopapp.common.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.shopapp.common.dto.response.ErrorResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Admits requests against the {@link AdaptiveConcurrencyLimit} before any security or
+ * database work is done, answering a fast 503 when the request's class has used up its
+ * share. Runs ahead of the security filters so a shed request costs next to nothing.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final PriorityRule[] rules;
+    private final Map<RequestPriority, Double> shares = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> admittedCounters = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> rejectedCounters = new EnumMap<>(RequestPriority.class);
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit limit,
+                                  List<PriorityRule> rules,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${concurrency-limit.enabled:true}") boolean enabled,
+                                  @Value("${concurrency-limit.share.cart:0.9}") double cartShare,
+                                  @Value("${concurrency-limit.share.catalog:0.75}") double catalogShare,
+                                  @Value("${concurrency-limit.share.reporting:0.5}") double reportingShare) {
+        this.limit = limit;
+        this.rules = rules.toArray(new PriorityRule[0]);
+        // Fraction of the limit each class may fill before its requests are shed
+        shares.put(RequestPriority.CHECKOUT, 1.0);
+        shares.put(RequestPriority.CART, cartShare);
+        shares.put(RequestPriority.CATALOG, catalogShare);
+        shares.put(RequestPriority.REPORTING, reportingShare);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        for (RequestPriority priority : RequestPriority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            admittedCounters.put(priority, meterRegistry.counter("concurrency.limit.requests", "priority", tag, "outcome", "admitted"));
+            rejectedCounters.put(priority, meterRegistry.counter("concurrency.limit.requests", "priority", tag, "outcome", "rejected"));
+        }
+        Gauge.builder("concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive limit on in-flight requests")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.limit.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests currently admitted by the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health checks and metric scrapes must keep working during a brownout
+        return !enabled || request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RequestPriority priority = classify(request.getMethod(), path);
+        if (!limit.tryAcquire(shares.get(priority))) {
+            rejectedCounters.get(priority).increment();
+            log.debug("Shedding {} request {} {} at concurrency limit {}", priority, request.getMethod(), path, limit.getLimit());
+            writeServiceUnavailable(response, path);
+            return;
+        }
+
+        admittedCounters.get(priority).increment();
+        int inFlight = limit.getInFlight();
+        long start = System.nanoTime();
+        boolean overloaded = true;
+        try {
+            filterChain.doFilter(request, response);
+            overloaded = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value();
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+            limit.release(route, System.nanoTime() - start, inFlight, overloaded);
+        }
+    }
+
+    private RequestPriority classify(String method, String path) {
+        for (PriorityRule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule.getPriority();
+            }
+        }
+        return RequestPriority.CATALOG;
+    }
+
+    private void writeServiceUnavailable(HttpServletResponse response, String path) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message("The service is busy. Please retry shortly")
+                .path(path)
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.shopapp.common.concurrency;
+
+import lombok.Getter;
+
+/**
+ * Assigns a {@link RequestPriority} to requests whose path starts with {@code pathPrefix},
+ * for one HTTP method or, when {@code method} is null, for all of them.
+ */
+@Getter
+public class PriorityRule {
+
+    private final String method;
+    private final String pathPrefix;
+    private final RequestPriority priority;
+
+    public PriorityRule(String method, String pathPrefix, RequestPriority priority) {
+        this.method = method;
+        this.pathPrefix = pathPrefix;
+        this.priority = priority;
+    }
+
+    public boolean matches(String requestMethod, String requestPath) {
+        return (method == null || method.equalsIgnoreCase(requestMethod)) && requestPath.startsWith(pathPrefix);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.shopapp.common.concurrency;
+
+/**
+ * Admission classes for the concurrency limit, most important first. Each class may
+ * only use its share of the current limit, so as the limit is reached requests are
+ * turned away from the bottom up and checkout keeps the last of the capacity.
+ */
+public enum RequestPriority {
+    CHECKOUT, CART, CATALOG, REPORTING
+}
@@ -0,0 +1,92 @@
+package org.example.shopapp.common.concurrency;
+
+import org.example.shopapp.common.exception.ServiceBusyException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key. The first caller runs the loader on its own
+ * thread (inside its own transaction); callers arriving while that load is in flight wait
+ * for its result, or its exception, instead of loading again. Waiting is bounded: a caller
+ * still waiting after {@code maxWait} gets {@link ServiceBusyException} rather than
+ * starting another load of a key the database is already struggling with.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public SingleFlight(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public V load(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            shared.increment();
+            return await(inFlight);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.apply(key);
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    /**
+     * Makes later callers start a fresh load of {@code key}; callers already waiting still
+     * get the result of the load in flight.
+     */
+    public void forget(K key) {
+        calls.remove(key);
+    }
+
+    public void forgetAll() {
+        calls.clear();
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException("Service is busy. Please try again shortly.",
+                    Math.max(1, maxWait.toSeconds()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a concurrent load", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Concurrent load failed", e.getCause());
+        }
+    }
+}
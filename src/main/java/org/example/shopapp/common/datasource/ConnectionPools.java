@@ -0,0 +1,22 @@
+package org.example.shopapp.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The Hikari pools behind the application data source, closed with the context.
+ *
+ * @param primary  the named pools on the primary database, selected by {@link DataSourcePool}
+ * @param replicas the replicas, each with the same set of named pools
+ */
+public record ConnectionPools(String primaryUrl, DataSource primary, List<Replica> replicas,
+                              List<HikariDataSource> pools) implements DisposableBean {
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.shopapp.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single auto-configured pool with one Hikari pool per
+ * {@code datasource.pools.<name>} entry on the database from {@code spring.datasource.*},
+ * so reporting queries cannot take the connections checkout needs. With
+ * {@code datasource.routing.enabled} every {@code datasource.routing.replica-urls} entry gets
+ * the same set of pools and read-only transactions are sent there. Only the outermost
+ * proxy is a bean, so SQL profiling wraps it once and sees every statement a single time.
+ */
+@Configuration
+@Slf4j
+public class DataSourceConfig {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.routing.max-lag:2s}") Duration maxLag,
+            @Value("${datasource.routing.read-your-writes-window:5s}") Duration window,
+            @Value("${datasource.routing.max-tracked-users:100000}") long maxTrackedUsers) {
+        // Pinning for less than the tolerated lag would let a user miss their own write
+        return new ReadYourWritesTracker(window.compareTo(maxLag) < 0 ? maxLag : window, maxTrackedUsers);
+    }
+
+    @Bean
+    public ConnectionPools connectionPools(DataSourceProperties properties, Environment environment,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${datasource.routing.enabled:false}") boolean routingEnabled,
+                                           @Value("${datasource.routing.replica-urls:}") List<String> replicaUrls,
+                                           @Value("${datasource.routing.replica-username:${spring.datasource.username:}}") String replicaUsername,
+                                           @Value("${datasource.routing.replica-password:${spring.datasource.password:}}") String replicaPassword) {
+        Binder binder = Binder.get(environment);
+        Map<String, PoolSettings> settings = new LinkedHashMap<>(binder
+                .bind("datasource.pools", Bindable.mapOf(String.class, PoolSettings.class))
+                .orElse(Map.of()));
+        settings.putIfAbsent(DataSourcePool.OLTP, PoolSettings.DEFAULTS);
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        String primaryUrl = properties.determineUrl();
+        Map<String, HikariDataSource> primaryPools = new LinkedHashMap<>();
+        settings.forEach((name, poolSettings) -> {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            configure(pool, binder, name, poolSettings, meterRegistry);
+            primaryPools.put(name, pool);
+        });
+        pools.addAll(primaryPools.values());
+
+        List<Replica> replicas = new ArrayList<>();
+        if (routingEnabled) {
+            for (String url : replicaUrls) {
+                if (url.isBlank()) {
+                    continue;
+                }
+                String replicaName = "replica-" + (replicas.size() + 1);
+                Map<String, HikariDataSource> replicaPools = new LinkedHashMap<>();
+                settings.forEach((name, poolSettings) -> {
+                    HikariDataSource pool = new HikariDataSource();
+                    pool.setJdbcUrl(url.trim());
+                    pool.setUsername(replicaUsername);
+                    pool.setPassword(replicaPassword);
+                    pool.setReadOnly(true);
+                    configure(pool, binder, replicaName + "-" + name, poolSettings, meterRegistry);
+                    replicaPools.put(name, pool);
+                });
+                pools.addAll(replicaPools.values());
+                replicas.add(new Replica(replicaName, new PoolRoutingDataSource(replicaPools)));
+            }
+        }
+        return new ConnectionPools(primaryUrl, new PoolRoutingDataSource(primaryPools), replicas, pools);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ConnectionPools pools, MeterRegistry meterRegistry,
+                                               @Value("${datasource.routing.lag-query:}") String lagQuery,
+                                               @Value("${datasource.routing.max-lag:2s}") Duration maxLag) {
+        if (lagQuery.isBlank() && pools.primaryUrl().startsWith("jdbc:postgresql:")) {
+            lagQuery = ReplicaLagMonitor.POSTGRES_LAG_QUERY;
+        }
+        return new ReplicaLagMonitor(pools.replicas(), lagQuery, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ConnectionPools pools, ReadYourWritesTracker readYourWrites,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${datasource.routing.max-lag:2s}") Duration maxLag) {
+        if (pools.replicas().isEmpty()) {
+            return new LazyConnectionDataSourceProxy(pools.primary());
+        }
+        DataSource primary = ProxyDataSourceBuilder.create(pools.primary())
+                .name("primary")
+                .listener(new WriteDetectingListener(readYourWrites))
+                .build();
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, pools.replicas(), maxLag, readYourWrites, meterRegistry));
+    }
+
+    private static void configure(HikariDataSource pool, Binder binder, String poolName, PoolSettings settings,
+                                  MeterRegistry meterRegistry) {
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        if (settings.maximumPoolSize() != null) {
+            pool.setMaximumPoolSize(settings.maximumPoolSize());
+        }
+        if (settings.minimumIdle() != null) {
+            pool.setMinimumIdle(settings.minimumIdle());
+        } else if (pool.getMinimumIdle() > pool.getMaximumPoolSize()) {
+            pool.setMinimumIdle(pool.getMaximumPoolSize());
+        }
+        if (settings.connectionTimeout() != null) {
+            pool.setConnectionTimeout(settings.connectionTimeout().toMillis());
+        }
+        String timeoutSql = statementTimeoutSql(pool.getJdbcUrl(), settings.statementTimeout());
+        if (timeoutSql != null) {
+            pool.setConnectionInitSql(timeoutSql);
+        } else if (settings.statementTimeout() != null && !settings.statementTimeout().isZero()) {
+            log.warn("Pool {}: statement timeouts are not supported for {}, ignoring", poolName, pool.getJdbcUrl());
+        }
+        pool.setMetricRegistry(meterRegistry);
+    }
+
+    /**
+     * Session statement that makes the database cancel statements running longer than
+     * {@code timeout}, or null when there is none or the database is not supported.
+     */
+    static String statementTimeoutSql(String jdbcUrl, Duration timeout) {
+        if (timeout == null || timeout.isZero() || jdbcUrl == null) {
+            return null;
+        }
+        if (jdbcUrl.startsWith("jdbc:postgresql:")) {
+            return "SET statement_timeout = " + timeout.toMillis();
+        }
+        if (jdbcUrl.startsWith("jdbc:h2:")) {
+            return "SET QUERY_TIMEOUT " + timeout.toMillis();
+        }
+        return null;
+    }
+}
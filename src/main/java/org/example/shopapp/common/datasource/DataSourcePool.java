@@ -0,0 +1,25 @@
+package org.example.shopapp.common.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method, or every method of the annotated class or repository, on a
+ * named connection pool from {@code datasource.pools.*}. The pool is picked when a
+ * transaction gets its connection, so the annotation only takes effect where the
+ * transaction starts: on the service method that opens it, or on a repository method
+ * called outside one. Methods called inside a running transaction keep its connection.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DataSourcePool {
+
+    String OLTP = "oltp";
+    String REPORTING = "reporting";
+
+    String value();
+}
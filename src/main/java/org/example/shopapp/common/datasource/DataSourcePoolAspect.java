@@ -0,0 +1,47 @@
+package org.example.shopapp.common.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Applies {@link DataSourcePool}. Ordered ahead of the transaction interceptor so the
+ * pool is selected before a transaction started by the same method needs a connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DataSourcePoolAspect {
+
+    @Around("@annotation(org.example.shopapp.common.datasource.DataSourcePool) "
+            + "|| @within(org.example.shopapp.common.datasource.DataSourcePool)")
+    public Object usePool(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        String previous = PoolRoutingDataSource.select(pool(joinPoint).value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            PoolRoutingDataSource.select(previous);
+        }
+    }
+
+    private DataSourcePool pool(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        DataSourcePool pool = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(), DataSourcePool.class);
+        if (pool == null) {
+            pool = AnnotatedElementUtils.findMergedAnnotation(signature.getDeclaringType(), DataSourcePool.class);
+        }
+        if (pool == null && joinPoint.getTarget() != null) {
+            pool = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), DataSourcePool.class);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.shopapp.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the named pool selected for the current thread by
+ * {@link DataSourcePool}, or from the {@code oltp} pool when none is selected.
+ */
+public class PoolRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<String> SELECTED_POOL = new ThreadLocal<>();
+
+    public PoolRoutingDataSource(Map<String, ? extends DataSource> pools) {
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(DataSourcePool.OLTP));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public static String currentPool() {
+        String pool = SELECTED_POOL.get();
+        return pool != null ? pool : DataSourcePool.OLTP;
+    }
+
+    /**
+     * Selects {@code pool} for the current thread, or clears the selection when null.
+     *
+     * @return the previous selection, to be restored afterwards
+     */
+    static String select(String pool) {
+        String previous = SELECTED_POOL.get();
+        if (pool == null) {
+            SELECTED_POOL.remove();
+        } else {
+            SELECTED_POOL.set(pool);
+        }
+        return previous;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentPool();
+    }
+}
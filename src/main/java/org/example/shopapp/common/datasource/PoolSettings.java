@@ -0,0 +1,15 @@
+package org.example.shopapp.common.datasource;
+
+import java.time.Duration;
+
+/**
+ * Per-pool overrides from {@code datasource.pools.<name>.*}, applied on top of the shared
+ * {@code spring.datasource.hikari.*} settings; unset values keep the shared ones.
+ *
+ * @param statementTimeout longest a single statement may run before the database cancels it
+ */
+public record PoolSettings(Integer maximumPoolSize, Integer minimumIdle, Duration connectionTimeout,
+                           Duration statementTimeout) {
+
+    static final PoolSettings DEFAULTS = new PoolSettings(null, null, null, null);
+}
@@ -0,0 +1,112 @@
+package org.example.shopapp.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to a replica, round robin over the
+ * replicas whose lag is within {@code maxLag}, and everything else to the primary. A
+ * user who recently wrote reads from the primary as well. The choice is made from the
+ * transaction state, so this must sit behind a {@link LazyConnectionDataSourceProxy}
+ * that defers fetching the connection until the transaction has been set up.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    enum Route {
+        WRITE, PRIMARY_REQUIRED, READ_YOUR_WRITES, NO_REPLICA_AVAILABLE, REPLICA
+    }
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<Route, Counter> routedConnections = new EnumMap<>(Route.class);
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag,
+                                      ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        for (Route route : Route.values()) {
+            routedConnections.put(route, Counter.builder("datasource.routing.connections")
+                    .description("Connections handed out by the read/write router")
+                    .tag("target", route == Route.REPLICA ? "replica" : "primary")
+                    .tag("reason", route.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Runs {@code work} with every read going to the primary. For reads whose results
+     * outlive the request, such as in-memory caches refreshed after a commit, where a
+     * lagging replica could bring back the rows that write just replaced.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean outer = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (outer == null) {
+                PRIMARY_REQUIRED.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route;
+        Object key = PRIMARY;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            route = Route.WRITE;
+        } else if (PRIMARY_REQUIRED.get() != null) {
+            route = Route.PRIMARY_REQUIRED;
+        } else if (readYourWrites.isRecentWriter()) {
+            route = Route.READ_YOUR_WRITES;
+        } else {
+            Replica replica = nextUsableReplica();
+            route = replica != null ? Route.REPLICA : Route.NO_REPLICA_AVAILABLE;
+            if (replica != null) {
+                key = replica.getName();
+            }
+        }
+        routedConnections.get(route).increment();
+        return key;
+    }
+
+    private Replica nextUsableReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isUsable(maxLag)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+}
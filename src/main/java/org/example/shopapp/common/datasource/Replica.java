@@ -0,0 +1,49 @@
+package org.example.shopapp.common.datasource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * A read-only connection pool and the replication lag last measured on it.
+ */
+public class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile Duration lag = Duration.ZERO;
+    private volatile boolean reachable = true;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public Duration getLag() {
+        return lag;
+    }
+
+    public boolean isReachable() {
+        return reachable;
+    }
+
+    public boolean isUsable(Duration maxLag) {
+        return reachable && lag.compareTo(maxLag) <= 0;
+    }
+
+    void lagMeasured(Duration lag) {
+        this.lag = lag;
+        this.reachable = true;
+    }
+
+    void unreachable() {
+        this.reachable = false;
+    }
+}
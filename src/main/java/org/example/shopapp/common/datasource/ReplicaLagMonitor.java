@@ -0,0 +1,79 @@
+package org.example.shopapp.common.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Measures replication lag on every replica with {@code lagQuery}, which returns the lag
+ * in seconds. Without a query a replica only has to accept connections to be used. A
+ * replica that cannot be reached or is too far behind gets no reads until it recovers.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Seconds since the last replayed transaction, or zero while the replica has replayed
+     * everything it received (an idle primary would otherwise look like growing lag).
+     */
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()"
+            + " THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    public ReplicaLagMonitor(List<Replica> replicas, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLag = maxLag;
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.getLag().toNanos() / 1e9)
+                    .description("Replication lag last measured on the replica")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.usable", replica, r -> r.isUsable(maxLag) ? 1 : 0)
+                    .description("Whether the replica currently receives reads")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.lag-check-interval:1s}")
+    public void check() {
+        for (Replica replica : replicas) {
+            boolean wasUsable = replica.isUsable(maxLag);
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                replica.lagMeasured(lagQuery == null ? Duration.ZERO : measure(connection));
+            } catch (SQLException e) {
+                replica.unreachable();
+                if (wasUsable) {
+                    log.warn("Replica {} is unreachable, reading from the primary: {}", replica.getName(), e.getMessage());
+                }
+                continue;
+            }
+            if (wasUsable != replica.isUsable(maxLag)) {
+                log.warn("Replica {} is {} (lag {} ms)", replica.getName(),
+                        wasUsable ? "too far behind, reading from the primary" : "back in rotation",
+                        replica.getLag().toMillis());
+            }
+        }
+    }
+
+    private Duration measure(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            double seconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+            return Duration.ofNanos(Math.round(Math.max(0, seconds) * 1e9));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.shopapp.common.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Reports statements other than queries run on the primary to the
+ * {@link ReadYourWritesTracker}. Looking at the statements rather than the transaction
+ * keeps read-write transactions that only read from pinning the user to the primary.
+ */
+class WriteDetectingListener implements QueryExecutionListener {
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    WriteDetectingListener(ReadYourWritesTracker readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.isSuccess() && queryInfoList.stream()
+                .anyMatch(query -> QueryUtils.getQueryType(query.getQuery()) != QueryType.SELECT)) {
+            readYourWrites.writeObserved();
+        }
+    }
+}
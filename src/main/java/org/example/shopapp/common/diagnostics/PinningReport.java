@@ -0,0 +1,19 @@
+package org.example.shopapp.common.diagnostics;
+
+import java.util.List;
+
+/**
+ * Virtual-thread pinning seen since start-up, worst sites first.
+ *
+ * @param enabled whether the JFR stream is running at all
+ */
+public record PinningReport(boolean enabled, long events, double pinnedMillis, List<Site> sites) {
+
+    /**
+     * @param frame      first application frame of the pinned stack, or its top frame
+     *                   when no application code was involved
+     * @param stackTrace top of the stack from the first event seen at this site
+     */
+    public record Site(String frame, long events, double pinnedMillis, double maxMillis, List<String> stackTrace) {
+    }
+}
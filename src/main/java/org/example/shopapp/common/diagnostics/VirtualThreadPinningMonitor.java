@@ -0,0 +1,169 @@
+package org.example.shopapp.common.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events in-process: a virtual thread that
+ * blocks while pinned to its carrier (inside {@code synchronized} on older JDKs, native
+ * frames, class initialization) holds a platform thread for the whole wait. Events are
+ * counted and timed as {@code jvm.threads.virtual.pinned}, grouped by the first
+ * application frame of the stack, and each new site is logged once with its stack.
+ */
+@Component
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "org.example.shopapp.";
+    private static final int STACK_DEPTH = 12;
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final int maxSites;
+    private final Counter pinnedCounter;
+    private final Timer pinnedTimer;
+    private final ConcurrentHashMap<String, SiteStats> sites = new ConcurrentHashMap<>();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${diagnostics.pinning.enabled:false}") boolean enabled,
+                                       @Value("${diagnostics.pinning.threshold:20ms}") Duration threshold,
+                                       @Value("${diagnostics.pinning.max-sites:100}") int maxSites) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.maxSites = maxSites;
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(meterRegistry);
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("Time virtual threads spent blocked while pinned")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || stream != null) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(EVENT, this::onEvent);
+            recording.startAsync();
+            stream = recording;
+            log.info("Watching for virtual thread pinning longer than {}", threshold);
+        } catch (RuntimeException e) {
+            // JFR may be missing or disabled on the runtime; the application works without it
+            log.warn("Virtual thread pinning monitor could not start: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public PinningReport report() {
+        List<PinningReport.Site> worstFirst = sites.entrySet().stream()
+                .map(entry -> entry.getValue().toSite(entry.getKey()))
+                .sorted(Comparator.comparingDouble(PinningReport.Site::pinnedMillis).reversed())
+                .toList();
+        return new PinningReport(stream != null, events.sum(), millis(pinnedNanos.sum()), worstFirst);
+    }
+
+    private void onEvent(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<String> frames = stackTrace == null ? List.of() : stackTrace.getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::describe)
+                .toList();
+        String site = stackTrace == null ? "unknown" : stackTrace.getFrames().stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .or(() -> stackTrace.getFrames().stream().findFirst())
+                .map(VirtualThreadPinningMonitor::describe)
+                .orElse("unknown");
+        record(site, event.getDuration(), frames);
+    }
+
+    void record(String site, Duration duration, List<String> frames) {
+        long nanos = duration.toNanos();
+        // Site first, so a report that counts an event also lists where it happened
+        SiteStats stats = sites.get(site);
+        if (stats == null) {
+            if (sites.size() >= maxSites) {
+                site = "other";
+            }
+            SiteStats created = new SiteStats(frames);
+            stats = sites.putIfAbsent(site, created);
+            if (stats == null) {
+                stats = created;
+                log.warn("Virtual thread pinned for {} ms at {}:\n\t{}", Math.round(millis(nanos)), site,
+                        String.join("\n\t", frames));
+            }
+        }
+        stats.add(nanos);
+
+        events.increment();
+        pinnedNanos.add(nanos);
+        pinnedCounter.increment();
+        pinnedTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class SiteStats {
+
+        private final List<String> stackTrace;
+        private final LongAdder events = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private SiteStats(List<String> stackTrace) {
+            this.stackTrace = stackTrace;
+        }
+
+        private void add(long nanos) {
+            events.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private PinningReport.Site toSite(String frame) {
+            return new PinningReport.Site(frame, events.sum(), millis(totalNanos.sum()), millis(maxNanos.get()), stackTrace);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.shopapp.common.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.shopapp.common.web.PageCursors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = "PageResult", description = "One page of a listing with the cursor of the next page")
+public class PageResponse<T> {
+    
+    private List<T> items;
+    @Schema(description = "Pass as ?cursor= to get the next page; absent on the last page")
+    private String nextCursor;
+    @Schema(description = "Total number of items across all pages, when it was counted")
+    private Long total;
+    
+    public static <T> PageResponse<T> of(Slice<T> slice) {
+        return PageResponse.<T>builder()
+                .items(slice.getContent())
+                .nextCursor(slice.hasNext() ? PageCursors.encode(slice.nextPageable()) : null)
+                .total(slice instanceof Page<T> page ? page.getTotalElements() : null)
+                .build();
+    }
+}
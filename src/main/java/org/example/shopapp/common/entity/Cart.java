@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
@@ -37,7 +38,8 @@ public class Cart {
     private User user;
     
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
-    private List<CartItem> cartItems;
+    @Builder.Default
+    private List<CartItem> cartItems = new ArrayList<>();
     
     @PrePersist
     protected void onCreate() {
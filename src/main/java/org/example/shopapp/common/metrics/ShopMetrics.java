@@ -0,0 +1,61 @@
+package org.example.shopapp.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.shopapp.common.entity.Payment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Business counters: checkout outcomes, payment results per method and OTP sends.
+ */
+@Component
+public class ShopMetrics {
+
+    public enum CheckoutOutcome {
+        PLACED, NO_CART, EMPTY_CART, INSUFFICIENT_STOCK
+    }
+
+    public enum PaymentResult {
+        COMPLETED, FAILED, REFUNDED, REFUND_FAILED
+    }
+
+    public enum OtpOutcome {
+        SENT, THROTTLED
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<CheckoutOutcome, Counter> checkoutCounters = new EnumMap<>(CheckoutOutcome.class);
+    private final Map<OtpOutcome, Counter> otpCounters = new EnumMap<>(OtpOutcome.class);
+
+    public ShopMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (CheckoutOutcome outcome : CheckoutOutcome.values()) {
+            checkoutCounters.put(outcome, meterRegistry.counter("shop.checkout", "outcome", tagValue(outcome)));
+        }
+        for (OtpOutcome outcome : OtpOutcome.values()) {
+            otpCounters.put(outcome, meterRegistry.counter("shop.otp.requests", "outcome", tagValue(outcome)));
+        }
+    }
+
+    public void checkout(CheckoutOutcome outcome) {
+        checkoutCounters.get(outcome).increment();
+    }
+
+    public void payment(Payment.PaymentMethod method, PaymentResult result) {
+        meterRegistry.counter("shop.payments",
+                "method", method != null ? tagValue(method) : "unknown",
+                "result", tagValue(result)).increment();
+    }
+
+    public void otp(OtpOutcome outcome) {
+        otpCounters.get(outcome).increment();
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.shopapp.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-node token buckets. Each bucket is one {@link AtomicLong} holding the
+ * theoretical arrival time of the next request (GCRA), so the allowed path is a
+ * cache lookup plus a single CAS and never takes a lock. Buckets live in a bounded
+ * cache: idle ones expire once they must have refilled, and past {@code max-keys}
+ * the least valuable are evicted in the background, never on the request path.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier clock;
+
+    @Autowired
+    public InMemoryRateLimiter(@Value("${rate-limit.memory.max-keys:100000}") int maxKeys,
+                               @Value("${rate-limit.memory.idle-expiry:10m}") Duration idleExpiry) {
+        this(maxKeys, idleExpiry, System::nanoTime);
+    }
+
+    InMemoryRateLimiter(int maxKeys, Duration idleExpiry, LongSupplier clock) {
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimitRule rule) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + rule.getEmissionIntervalNanos();
+            long allowAt = newTat - rule.getBurstNanos();
+            if (allowAt > now) {
+                return Math.max(1, (allowAt - now + 999_999) / 1_000_000);
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.shopapp.common.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RateLimitConfig {
+
+    // The filter runs inside the security chain; keep Boot from also registering it with the servlet container
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public RateLimitRule loginRateLimit(
+            @Value("${rate-limit.login.capacity:10}") long capacity,
+            @Value("${rate-limit.login.refill-period:1m}") Duration refillPeriod) {
+        return new RateLimitRule("login", "POST", "/api/auth/login", capacity, refillPeriod);
+    }
+
+    @Bean
+    public RateLimitRule productSearchRateLimit(
+            @Value("${rate-limit.search.capacity:30}") long capacity,
+            @Value("${rate-limit.search.refill-period:10s}") Duration refillPeriod) {
+        return new RateLimitRule("search", "GET", "/api/products/search", capacity, refillPeriod);
+    }
+
+    @Bean
+    public RateLimitRule paymentRateLimit(
+            @Value("${rate-limit.payments.capacity:5}") long capacity,
+            @Value("${rate-limit.payments.refill-period:1m}") Duration refillPeriod) {
+        return new RateLimitRule("payments", "POST", "/api/payments", capacity, refillPeriod);
+    }
+}
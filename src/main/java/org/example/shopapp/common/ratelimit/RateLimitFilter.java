@@ -0,0 +1,120 @@
+package org.example.shopapp.common.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.shopapp.common.dto.response.ErrorResponse;
+import org.example.shopapp.common.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Applies per-route token buckets to the expensive endpoints. Authenticated
+ * callers are limited per user id, anonymous callers per client IP.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitRule[] rules;
+    private final Counter[] allowedCounters;
+    private final Counter[] rejectedCounters;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           List<RateLimitRule> rules,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled) {
+        this.rateLimiter = rateLimiter;
+        this.rules = rules.toArray(new RateLimitRule[0]);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.allowedCounters = new Counter[this.rules.length];
+        this.rejectedCounters = new Counter[this.rules.length];
+        for (int i = 0; i < this.rules.length; i++) {
+            allowedCounters[i] = meterRegistry.counter("rate.limit.requests", "rule", this.rules[i].getName(), "outcome", "allowed");
+            rejectedCounters[i] = meterRegistry.counter("rate.limit.requests", "rule", this.rules[i].getName(), "outcome", "rejected");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        int ruleIndex = findRule(request.getMethod(), path);
+        if (ruleIndex < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitRule rule = rules[ruleIndex];
+        long retryAfterMillis = rateLimiter.tryAcquire(rule.getName() + ':' + clientKey(request), rule);
+        if (retryAfterMillis == 0) {
+            allowedCounters[ruleIndex].increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejectedCounters[ruleIndex].increment();
+        log.debug("Rate limit '{}' exceeded for {}", rule.getName(), clientKey(request));
+        writeTooManyRequests(response, path, retryAfterMillis);
+    }
+
+    private int findRule(String method, String path) {
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].matches(method, path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return "user:" + user.getId();
+        }
+        // Behind a proxy, enable server.forward-headers-strategy so this reflects the real client
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, String path, long retryAfterMillis) throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Rate limit exceeded. Please retry after " + retryAfterSeconds + " seconds")
+                .path(path)
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
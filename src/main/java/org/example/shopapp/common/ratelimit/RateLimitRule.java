@@ -0,0 +1,36 @@
+package org.example.shopapp.common.ratelimit;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Token-bucket limit for one route: {@code capacity} requests may burst at once,
+ * and the bucket refills at {@code capacity} tokens per {@code refillPeriod}.
+ */
+@Getter
+public class RateLimitRule {
+
+    private final String name;
+    private final String method;
+    private final String pathPrefix;
+    private final long capacity;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+
+    public RateLimitRule(String name, String method, String pathPrefix, long capacity, Duration refillPeriod) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity must be positive for rule: " + name);
+        }
+        this.name = name;
+        this.method = method;
+        this.pathPrefix = pathPrefix;
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.burstNanos = emissionIntervalNanos * capacity;
+    }
+
+    public boolean matches(String requestMethod, String requestPath) {
+        return method.equalsIgnoreCase(requestMethod) && requestPath.startsWith(pathPrefix);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.shopapp.common.ratelimit;
+
+public interface RateLimiter {
+
+    /**
+     * Tries to take one token from the bucket identified by {@code key}.
+     *
+     * @return 0 if the request is allowed, otherwise the number of milliseconds
+     *         until the next token becomes available
+     */
+    long tryAcquire(String key, RateLimitRule rule);
+}
@@ -0,0 +1,76 @@
+package org.example.shopapp.common.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cluster-wide token buckets. Runs the same GCRA as {@link InMemoryRateLimiter}
+ * atomically inside Redis, using the Redis clock so nodes need not be in sync.
+ * If Redis is unreachable the request is allowed rather than failing the API.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    private static final RedisScript<Long> GCRA_SCRIPT = new DefaultRedisScript<>(
+            "local interval = tonumber(ARGV[1]) " +
+            "local burst = tonumber(ARGV[2]) " +
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000000 + tonumber(time[2]) " +
+            "local tat = tonumber(redis.call('GET', KEYS[1])) or now " +
+            "if tat < now then tat = now end " +
+            "local newTat = tat + interval " +
+            "local allowAt = newTat - burst " +
+            "if allowAt > now then return allowAt - now end " +
+            "redis.call('SET', KEYS[1], newTat, 'PX', math.ceil((newTat - now) / 1000) + 1000) " +
+            "return 0",
+            Long.class);
+
+    private static final long WARN_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final StringRedisTemplate redisTemplate;
+    // Failures are logged at most once per interval so an outage does not flood the log
+    private final AtomicLong nextWarnAtNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder suppressedFailures = new LongAdder();
+
+    @Override
+    public long tryAcquire(String key, RateLimitRule rule) {
+        try {
+            Long waitMicros = redisTemplate.execute(GCRA_SCRIPT, List.of(KEY_PREFIX + key),
+                    String.valueOf(Math.max(1, rule.getEmissionIntervalNanos() / 1000)),
+                    String.valueOf(Math.max(1, rule.getBurstNanos() / 1000)));
+            if (waitMicros == null || waitMicros <= 0) {
+                return 0;
+            }
+            return Math.max(1, (waitMicros + 999) / 1000);
+        } catch (Exception e) {
+            warnUnavailable(e);
+            return 0;
+        }
+    }
+
+    private void warnUnavailable(Exception e) {
+        long now = System.nanoTime();
+        long warnAt = nextWarnAtNanos.get();
+        if (now - warnAt < 0 || !nextWarnAtNanos.compareAndSet(warnAt, now + WARN_INTERVAL_NANOS)) {
+            suppressedFailures.increment();
+            return;
+        }
+        log.warn("Redis rate limiter unavailable, allowing requests ({} more failures since last warning): {}",
+                suppressedFailures.sumThenReset(), e.getMessage());
+    }
+}
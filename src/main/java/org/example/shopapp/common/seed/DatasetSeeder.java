@@ -0,0 +1,462 @@
+package org.example.shopapp.common.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.shopapp.common.entity.Order;
+import org.example.shopapp.common.entity.Payment;
+import org.example.shopapp.common.entity.Shipment;
+import org.example.shopapp.common.sql.SqlProfilingConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk-loads a synthetic catalog, customers and order history when the {@code seed}
+ * profile is active, so performance work has realistic data volumes to run against.
+ * Rows are written with plain JDBC batch inserts in parallel chunks, one transaction per
+ * chunk, with ids assigned up front so no generated keys have to be read back. Products
+ * are ordered with Zipfian popularity and customers with Zipfian activity; the number of
+ * lines per order is geometric around a configurable mean.
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class DatasetSeeder implements ApplicationRunner {
+
+    private static final String[] ADJECTIVES = {
+            "wireless", "compact", "premium", "classic", "portable", "ergonomic", "smart", "organic",
+            "vintage", "rugged", "slim", "deluxe", "eco", "heavy-duty", "waterproof", "minimalist"};
+    private static final String[] NOUNS = {
+            "headphones", "laptop", "keyboard", "mouse", "monitor", "backpack", "bottle", "lamp",
+            "chair", "desk", "grinder", "kettle", "speaker", "charger", "camera", "jacket",
+            "sneakers", "watch", "blender", "tent", "mat", "router", "drone", "notebook"};
+    private static final String[] COURIERS = {"DHL", "UPS", "FedEx", "USPS"};
+    private static final Order.OrderStatus[] ORDER_STATUSES = {
+            Order.OrderStatus.PENDING, Order.OrderStatus.PAID, Order.OrderStatus.SHIPPED,
+            Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED};
+    private static final int[] ORDER_STATUS_PERCENT = {5, 25, 10, 55, 5};
+    private static final Payment.PaymentMethod[] PAYMENT_METHODS = Payment.PaymentMethod.values();
+    private static final String[] TABLES = {"categories", "products", "users", "orders", "order_items", "payments", "shipments"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationContext applicationContext;
+    private final int categories;
+    private final int products;
+    private final int users;
+    private final int orders;
+    private final ZipfSampler productPopularity;
+    private final ZipfSampler userActivity;
+    private final double itemsPerOrderMean;
+    private final int maxItemsPerOrder;
+    private final Duration history;
+    private final String userPassword;
+    private final long randomSeed;
+    private final int threads;
+    private final int chunkSize;
+    private final int batchSize;
+    private final boolean exitWhenDone;
+    private final Map<String, AtomicLong> inserted = new LinkedHashMap<>();
+
+    public DatasetSeeder(DataSource dataSource,
+                         PasswordEncoder passwordEncoder,
+                         ApplicationContext applicationContext,
+                         @Value("${seed.categories:200}") int categories,
+                         @Value("${seed.products:100000}") int products,
+                         @Value("${seed.users:50000}") int users,
+                         @Value("${seed.orders:500000}") int orders,
+                         @Value("${seed.product-popularity-exponent:1.0}") double productPopularityExponent,
+                         @Value("${seed.user-activity-exponent:0.6}") double userActivityExponent,
+                         @Value("${seed.items-per-order-mean:2.5}") double itemsPerOrderMean,
+                         @Value("${seed.max-items-per-order:20}") int maxItemsPerOrder,
+                         @Value("${seed.history:365d}") Duration history,
+                         @Value("${seed.user-password:password123}") String userPassword,
+                         @Value("${seed.random-seed:42}") long randomSeed,
+                         @Value("${seed.threads:4}") int threads,
+                         @Value("${seed.chunk-size:10000}") int chunkSize,
+                         @Value("${seed.batch-size:1000}") int batchSize,
+                         @Value("${seed.exit-when-done:false}") boolean exitWhenDone) {
+        // Plain JDBC on the pool itself: no JPA involvement and no profiling proxy
+        DataSource target = SqlProfilingConfig.unproxied(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(target);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(target));
+        this.passwordEncoder = passwordEncoder;
+        this.applicationContext = applicationContext;
+        this.categories = Math.max(1, categories);
+        this.products = Math.max(1, products);
+        this.users = Math.max(1, users);
+        this.orders = orders;
+        this.productPopularity = new ZipfSampler(this.products, productPopularityExponent);
+        this.userActivity = new ZipfSampler(this.users, userActivityExponent);
+        this.itemsPerOrderMean = Math.max(1, itemsPerOrderMean);
+        this.maxItemsPerOrder = Math.max(1, maxItemsPerOrder);
+        this.history = history;
+        this.userPassword = userPassword;
+        this.randomSeed = randomSeed;
+        this.threads = Math.max(1, threads);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.exitWhenDone = exitWhenDone;
+        for (String table : TABLES) {
+            inserted.put(table, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Seeding {} categories, {} products, {} users and {} orders on {} threads",
+                categories, products, users, orders, threads);
+        long started = System.nanoTime();
+        Ids ids = new Ids(maxId("categories"), maxId("products"), maxId("users"), maxId("orders"),
+                new AtomicLong(maxId("order_items")), maxId("payments"), new AtomicLong(maxId("shipments")));
+        String passwordHash = passwordEncoder.encode(userPassword);
+        LocalDateTime now = LocalDateTime.now();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            insertCategories(ids, now);
+            inParallel(executor, products, chunk -> insertProducts(ids, chunk, now));
+            inParallel(executor, users, chunk -> insertUsers(ids, chunk, passwordHash, now));
+            inParallel(executor, orders, chunk -> insertOrders(ids, chunk, now));
+        } finally {
+            executor.shutdownNow();
+        }
+        for (String table : TABLES) {
+            restartIdentity(table);
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long rows = inserted.values().stream().mapToLong(AtomicLong::get).sum();
+        log.info("Seeded {} rows in {}s ({} rows/s): {}", rows, String.format("%.1f", seconds),
+                Math.round(rows / seconds), inserted);
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void insertCategories(Ids ids, LocalDateTime now) {
+        List<Integer> rows = range(0, categories);
+        Timestamp createdAt = Timestamp.valueOf(now.minus(history));
+        insert("categories", "INSERT INTO categories (id, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                rows, (ps, i) -> {
+                    ps.setLong(1, ids.categories + i + 1);
+                    ps.setString(2, capitalize(NOUNS[i % NOUNS.length]) + " " + (i + 1));
+                    ps.setString(3, "Seeded category " + (i + 1));
+                    ps.setTimestamp(4, createdAt);
+                    ps.setTimestamp(5, createdAt);
+                });
+    }
+
+    private void insertProducts(Ids ids, int chunk, LocalDateTime now) {
+        SplittableRandom random = random(1, chunk);
+        insert("products", "INSERT INTO products (id, name, description, price, stock, image_url, is_active, "
+                        + "created_at, updated_at, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                chunkRange(chunk, products), (ps, i) -> {
+                    long id = ids.products + i + 1;
+                    Timestamp createdAt = Timestamp.valueOf(pastTime(random, now));
+                    ps.setLong(1, id);
+                    ps.setString(2, productName(i));
+                    ps.setString(3, "Seeded " + productName(i) + " for large-catalog testing");
+                    ps.setBigDecimal(4, productPrice(i));
+                    ps.setInt(5, random.nextInt(500));
+                    ps.setString(6, "https://cdn.example.org/products/" + id + ".jpg");
+                    ps.setBoolean(7, random.nextInt(50) != 0);
+                    ps.setTimestamp(8, createdAt);
+                    ps.setTimestamp(9, createdAt);
+                    ps.setLong(10, ids.categories + 1 + i % categories);
+                });
+    }
+
+    private void insertUsers(Ids ids, int chunk, String passwordHash, LocalDateTime now) {
+        SplittableRandom random = random(2, chunk);
+        insert("users", "INSERT INTO users (id, username, email, password, phone_number, role, is_enabled, "
+                        + "is_account_non_locked, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                chunkRange(chunk, users), (ps, i) -> {
+                    long id = ids.users + i + 1;
+                    Timestamp createdAt = Timestamp.valueOf(pastTime(random, now));
+                    ps.setLong(1, id);
+                    ps.setString(2, "seed-user-" + id);
+                    ps.setString(3, "seed-user-" + id + "@example.org");
+                    ps.setString(4, passwordHash);
+                    ps.setString(5, "+1555" + String.format("%07d", id % 10_000_000));
+                    ps.setString(6, "CUSTOMER");
+                    ps.setBoolean(7, true);
+                    ps.setBoolean(8, true);
+                    ps.setTimestamp(9, createdAt);
+                    ps.setTimestamp(10, createdAt);
+                });
+    }
+
+    private void insertOrders(Ids ids, int chunk, LocalDateTime now) {
+        SplittableRandom random = random(3, chunk);
+        long productMultiplier = coprimeMultiplier(products);
+        long userMultiplier = coprimeMultiplier(users);
+        List<OrderRow> orderRows = new ArrayList<>();
+        List<ItemRow> itemRows = new ArrayList<>();
+        List<ShipmentRow> shipmentRows = new ArrayList<>();
+
+        for (int i : chunkRange(chunk, orders)) {
+            long orderId = ids.orders + i + 1;
+            // Popular ranks are spread over the id range instead of being the lowest ids
+            long userId = ids.users + 1 + (userActivity.sample(random) - 1) * userMultiplier % users;
+            LocalDateTime createdAt = pastTime(random, now);
+            Order.OrderStatus status = orderStatus(random);
+
+            int lines = itemsPerOrder(random);
+            long[] productIndexes = new long[lines];
+            BigDecimal total = BigDecimal.ZERO;
+            long firstItemId = ids.orderItems.getAndAdd(lines) + 1;
+            for (int line = 0; line < lines; line++) {
+                long productIndex = distinctProduct(random, productIndexes, line, productMultiplier);
+                productIndexes[line] = productIndex;
+                int quantity = random.nextInt(10) == 0 ? 2 + random.nextInt(3) : 1;
+                BigDecimal price = productPrice(productIndex);
+                total = total.add(price.multiply(BigDecimal.valueOf(quantity)));
+                itemRows.add(new ItemRow(firstItemId + line, orderId, ids.products + productIndex + 1,
+                        productName(productIndex), quantity, price, createdAt));
+            }
+            orderRows.add(new OrderRow(orderId, userId, status, total, createdAt));
+            if (status == Order.OrderStatus.SHIPPED || status == Order.OrderStatus.DELIVERED) {
+                shipmentRows.add(new ShipmentRow(ids.shipments.incrementAndGet(), orderId, status, createdAt));
+            }
+        }
+
+        insert("orders", "INSERT INTO orders (id, order_number, total_price, status, shipping_address, billing_address, "
+                        + "notes, created_at, updated_at, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                orderRows, (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setString(2, "ORD-SEED-" + row.id());
+                    ps.setBigDecimal(3, row.total());
+                    ps.setString(4, row.status().name());
+                    ps.setString(5, address(row.userId()));
+                    ps.setString(6, address(row.userId()));
+                    ps.setString(7, null);
+                    ps.setTimestamp(8, Timestamp.valueOf(row.createdAt()));
+                    ps.setTimestamp(9, Timestamp.valueOf(row.createdAt()));
+                    ps.setLong(10, row.userId());
+                });
+        insert("order_items", "INSERT INTO order_items (id, quantity, price, product_name, created_at, updated_at, "
+                        + "order_id, product_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                itemRows, (ps, row) -> {
+                    ps.setLong(1, row.id());
+                    ps.setInt(2, row.quantity());
+                    ps.setBigDecimal(3, row.price());
+                    ps.setString(4, row.productName());
+                    ps.setTimestamp(5, Timestamp.valueOf(row.createdAt()));
+                    ps.setTimestamp(6, Timestamp.valueOf(row.createdAt()));
+                    ps.setLong(7, row.orderId());
+                    ps.setLong(8, row.productId());
+                });
+        insert("payments", "INSERT INTO payments (id, amount, status, payment_method, transaction_id, gateway_response, "
+                        + "created_at, updated_at, order_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                orderRows, (ps, row) -> {
+                    Payment.PaymentStatus paymentStatus = paymentStatus(row.status());
+                    boolean completed = paymentStatus == Payment.PaymentStatus.COMPLETED;
+                    ps.setLong(1, ids.payments + (row.id() - ids.orders));
+                    ps.setBigDecimal(2, row.total());
+                    ps.setString(3, paymentStatus.name());
+                    ps.setString(4, PAYMENT_METHODS[(int) (row.id() % PAYMENT_METHODS.length)].name());
+                    ps.setString(5, completed ? "TXN-SEED-" + row.id() : null);
+                    ps.setString(6, completed ? "Payment successful" : null);
+                    ps.setTimestamp(7, Timestamp.valueOf(row.createdAt()));
+                    ps.setTimestamp(8, Timestamp.valueOf(row.createdAt()));
+                    ps.setLong(9, row.id());
+                });
+        insert("shipments", "INSERT INTO shipments (id, status, courier, tracking_number, estimated_delivery_date, "
+                        + "actual_delivery_date, shipping_address, notes, created_at, updated_at, order_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                shipmentRows, (ps, row) -> {
+                    boolean delivered = row.orderStatus() == Order.OrderStatus.DELIVERED;
+                    ps.setLong(1, row.id());
+                    ps.setString(2, (delivered ? Shipment.ShipmentStatus.DELIVERED : Shipment.ShipmentStatus.IN_TRANSIT).name());
+                    ps.setString(3, COURIERS[(int) (row.orderId() % COURIERS.length)]);
+                    ps.setString(4, "TRK-SEED-" + row.orderId());
+                    ps.setTimestamp(5, Timestamp.valueOf(row.createdAt().plusDays(5)));
+                    ps.setTimestamp(6, delivered ? Timestamp.valueOf(row.createdAt().plusDays(4)) : null);
+                    ps.setString(7, null);
+                    ps.setString(8, null);
+                    ps.setTimestamp(9, Timestamp.valueOf(row.createdAt()));
+                    ps.setTimestamp(10, Timestamp.valueOf(row.createdAt()));
+                    ps.setLong(11, row.orderId());
+                });
+    }
+
+    private <T> void insert(String table, String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, setter);
+        inserted.get(table).addAndGet(rows.size());
+    }
+
+    private void inParallel(ExecutorService executor, int rows, IntConsumer chunkLoader) throws Exception {
+        int chunks = (rows + chunkSize - 1) / chunkSize;
+        List<Future<?>> futures = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int current = chunk;
+            futures.add(executor.submit(() -> transactionTemplate.executeWithoutResult(
+                    transaction -> chunkLoader.accept(current))));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * Moves the identity column past the seeded ids so rows inserted by the application
+     * afterwards do not collide with them.
+     */
+    private void restartIdentity(String table) {
+        long next = maxId(table) + 1;
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(database)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        } else if ("PostgreSQL".equals(database)) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), ?, false)",
+                    Long.class, next);
+        } else {
+            log.warn("Cannot restart the id sequence of {} on {}; new rows may collide with seeded ids", table, database);
+        }
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private int itemsPerOrder(SplittableRandom random) {
+        // Geometric number of lines with the configured mean, at least one
+        double p = 1 / itemsPerOrderMean;
+        int extra = p >= 1 ? 0 : (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+        return Math.min(maxItemsPerOrder, Math.min(products, 1 + extra));
+    }
+
+    private long distinctProduct(SplittableRandom random, long[] chosen, int count, long multiplier) {
+        while (true) {
+            long candidate = (productPopularity.sample(random) - 1) * multiplier % products;
+            boolean duplicate = false;
+            for (int i = 0; i < count && !duplicate; i++) {
+                duplicate = chosen[i] == candidate;
+            }
+            if (!duplicate) {
+                return candidate;
+            }
+        }
+    }
+
+    private static Order.OrderStatus orderStatus(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < ORDER_STATUSES.length; i++) {
+            roll -= ORDER_STATUS_PERCENT[i];
+            if (roll < 0) {
+                return ORDER_STATUSES[i];
+            }
+        }
+        return Order.OrderStatus.DELIVERED;
+    }
+
+    private static Payment.PaymentStatus paymentStatus(Order.OrderStatus status) {
+        return switch (status) {
+            case PENDING -> Payment.PaymentStatus.PENDING;
+            case CANCELLED -> Payment.PaymentStatus.CANCELLED;
+            default -> Payment.PaymentStatus.COMPLETED;
+        };
+    }
+
+    private static String productName(long index) {
+        return capitalize(ADJECTIVES[(int) (index % ADJECTIVES.length)]) + " "
+                + NOUNS[(int) (index / ADJECTIVES.length % NOUNS.length)] + " " + (index + 1);
+    }
+
+    private static BigDecimal productPrice(long index) {
+        // Deterministic so order lines can be priced without looking products up
+        return BigDecimal.valueOf(499 + (index * 7_919) % 99_500, 2);
+    }
+
+    private static String address(long userId) {
+        return (userId % 999 + 1) + " Seed Street, Springfield";
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private LocalDateTime pastTime(SplittableRandom random, LocalDateTime now) {
+        return now.minusSeconds(random.nextLong(Math.max(1, history.toSeconds())));
+    }
+
+    private SplittableRandom random(int stream, int chunk) {
+        return new SplittableRandom(randomSeed * 31 + stream * 1_000_003L + chunk);
+    }
+
+    private List<Integer> chunkRange(int chunk, int total) {
+        return range(chunk * chunkSize, Math.min(total, (chunk + 1) * chunkSize));
+    }
+
+    private static List<Integer> range(int from, int to) {
+        return IntStream.range(from, to).boxed().toList();
+    }
+
+    /**
+     * Multiplier coprime with {@code n}, so {@code rank * multiplier % n} is a permutation.
+     */
+    private static long coprimeMultiplier(long n) {
+        long multiplier = 2_654_435_761L % n;
+        while (n > 1 && gcd(multiplier, n) != 1) {
+            multiplier++;
+        }
+        return multiplier;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private record Ids(long categories, long products, long users, long orders, AtomicLong orderItems,
+                       long payments, AtomicLong shipments) {
+    }
+
+    private record OrderRow(long id, long userId, Order.OrderStatus status, BigDecimal total, LocalDateTime createdAt) {
+    }
+
+    private record ItemRow(long id, long orderId, long productId, String productName, int quantity, BigDecimal price,
+                           LocalDateTime createdAt) {
+    }
+
+    private record ShipmentRow(long id, long orderId, Order.OrderStatus orderStatus, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.shopapp.common.sql;
+
+/**
+ * SQL work of one completed HTTP request.
+ *
+ * @param endpoint the matched handler pattern, e.g. {@code /api/products/{id}}
+ */
+public record RequestSqlProfile(String method, String endpoint, int statements, long jdbcNanos,
+                                long rowsFetched, int transactions) {
+
+    public String route() {
+        return method + " " + endpoint;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.shopapp.common.sql;
+
+/**
+ * JDBC work done on one thread while a profile is active. Only ever touched by that
+ * thread, so the counters are plain fields.
+ */
+public final class SqlProfile {
+
+    private int statements;
+    private long jdbcNanos;
+    private long rowsFetched;
+    private int transactions;
+    private long queryStartedAt;
+
+    void queryStarted() {
+        queryStartedAt = System.nanoTime();
+    }
+
+    void queryFinished(int statementCount) {
+        statements += statementCount;
+        jdbcNanos += System.nanoTime() - queryStartedAt;
+    }
+
+    void rowFetched() {
+        rowsFetched++;
+    }
+
+    void transactionFinished() {
+        transactions++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public int getTransactions() {
+        return transactions;
+    }
+}
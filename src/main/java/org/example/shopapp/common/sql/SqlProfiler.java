@@ -0,0 +1,50 @@
+package org.example.shopapp.common.sql;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Holds the active {@link SqlProfile} of the current thread and hands completed request
+ * profiles to registered listeners (metrics, tests asserting query budgets).
+ */
+public class SqlProfiler {
+
+    private final ThreadLocal<SqlProfile> current = new ThreadLocal<>();
+    private final List<Consumer<RequestSqlProfile>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Starts profiling the current thread, or returns null when a profile is already
+     * active (e.g. an error dispatch inside the same request).
+     */
+    public SqlProfile start() {
+        if (current.get() != null) {
+            return null;
+        }
+        SqlProfile profile = new SqlProfile();
+        current.set(profile);
+        return profile;
+    }
+
+    public void stop() {
+        current.remove();
+    }
+
+    public SqlProfile current() {
+        return current.get();
+    }
+
+    public void addListener(Consumer<RequestSqlProfile> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<RequestSqlProfile> listener) {
+        listeners.remove(listener);
+    }
+
+    void completed(RequestSqlProfile profile) {
+        for (Consumer<RequestSqlProfile> listener : listeners) {
+            listener.accept(profile);
+        }
+    }
+}
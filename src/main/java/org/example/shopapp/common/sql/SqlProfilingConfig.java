@@ -0,0 +1,55 @@
+package org.example.shopapp.common.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlProfilingConfig {
+
+    /**
+     * The data source behind the profiling proxy, for bulk JDBC work that should not pay
+     * for per-call interception.
+     */
+    public static DataSource unproxied(DataSource dataSource) {
+        return dataSource instanceof ProxyDataSource proxy ? proxy.getDataSource() : dataSource;
+    }
+
+    @Bean
+    public SqlProfiler sqlProfiler() {
+        return new SqlProfiler();
+    }
+
+    /**
+     * Wraps every data source in a JDBC proxy reporting to the {@link SqlProfiler}. Static
+     * so it is registered before the data source beans are created.
+     */
+    @Bean
+    public static BeanPostProcessor sqlProfilingDataSourceWrapper(ObjectProvider<SqlProfiler> profiler,
+                                                                  Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                        || !environment.getProperty("sql-profiling.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                SqlProfilingListener listener = new SqlProfilingListener(profiler.getObject());
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .methodListener(listener);
+                if (environment.getProperty("sql-profiling.count-rows", Boolean.class, true)) {
+                    builder.proxyResultSet();
+                }
+                return builder.build();
+            }
+        };
+    }
+}
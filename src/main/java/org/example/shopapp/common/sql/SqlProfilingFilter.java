@@ -0,0 +1,123 @@
+package org.example.shopapp.common.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Profiles the JDBC work of each request: statements, time spent in JDBC, rows fetched
+ * and transactions. Results are recorded per endpoint pattern, logged when a request goes
+ * over the statement budget and, when enabled for local debugging, returned as
+ * {@code X-SQL-*} response headers. Runs ahead of the security chain so user lookups
+ * during authentication are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+    static final String ROWS_HEADER = "X-SQL-Rows";
+    static final String TRANSACTIONS_HEADER = "X-SQL-Transactions";
+
+    private final SqlProfiler profiler;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean headersEnabled;
+    private final int statementBudget;
+
+    public SqlProfilingFilter(SqlProfiler profiler,
+                              MeterRegistry meterRegistry,
+                              @Value("${sql-profiling.enabled:true}") boolean enabled,
+                              @Value("${sql-profiling.headers-enabled:false}") boolean headersEnabled,
+                              @Value("${sql-profiling.statement-budget:25}") int statementBudget) {
+        this.profiler = profiler;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.headersEnabled = headersEnabled;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlProfile profile = profiler.start();
+        if (profile == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Headers must be set before the body is committed, so buffer it when they are on
+        ContentCachingResponseWrapper buffered = headersEnabled ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            profiler.stop();
+            RequestSqlProfile completed = new RequestSqlProfile(request.getMethod(), endpoint(request),
+                    profile.getStatements(), profile.getJdbcNanos(), profile.getRowsFetched(), profile.getTransactions());
+            if (buffered != null) {
+                writeHeaders(buffered, completed);
+                buffered.copyBodyToResponse();
+            }
+            record(completed);
+        }
+    }
+
+    private void record(RequestSqlProfile profile) {
+        if (profile.statements() > statementBudget) {
+            log.warn("{} ran {} SQL statements ({} ms in JDBC), over the budget of {}", profile.route(),
+                    profile.statements(), TimeUnit.NANOSECONDS.toMillis(profile.jdbcNanos()), statementBudget);
+            meterRegistry.counter("sql.request.budget.exceeded",
+                    "method", profile.method(), "uri", profile.endpoint()).increment();
+        }
+        DistributionSummary.builder("sql.request.statements")
+                .tags("method", profile.method(), "uri", profile.endpoint())
+                .register(meterRegistry)
+                .record(profile.statements());
+        DistributionSummary.builder("sql.request.rows")
+                .tags("method", profile.method(), "uri", profile.endpoint())
+                .register(meterRegistry)
+                .record(profile.rowsFetched());
+        Timer.builder("sql.request.time")
+                .tags("method", profile.method(), "uri", profile.endpoint())
+                .register(meterRegistry)
+                .record(profile.jdbcNanos(), TimeUnit.NANOSECONDS);
+        profiler.completed(profile);
+    }
+
+    private void writeHeaders(HttpServletResponse response, RequestSqlProfile profile) {
+        response.setHeader(STATEMENTS_HEADER, Integer.toString(profile.statements()));
+        response.setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.2f", profile.jdbcNanos() / 1_000_000.0));
+        response.setHeader(ROWS_HEADER, Long.toString(profile.rowsFetched()));
+        response.setHeader(TRANSACTIONS_HEADER, Integer.toString(profile.transactions()));
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        // Tagging by pattern rather than raw URI keeps the metric cardinality bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.shopapp.common.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Feeds statement executions, fetched rows and commits/rollbacks of the proxied
+ * data source into the current thread's {@link SqlProfile}, if any.
+ */
+class SqlProfilingListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private final SqlProfiler profiler;
+
+    SqlProfilingListener(SqlProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlProfile profile = profiler.current();
+        if (profile != null) {
+            profile.queryStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlProfile profile = profiler.current();
+        if (profile != null) {
+            // A JDBC batch is one round trip however many parameter sets it carries
+            profile.queryFinished(execInfo.isBatch() ? 1 : queryInfoList.size());
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        SqlProfile profile = profiler.current();
+        if (profile == null) {
+            return;
+        }
+        Object target = executionContext.getTarget();
+        String method = executionContext.getMethod().getName();
+        if (target instanceof ResultSet) {
+            if ("next".equals(method) && Boolean.TRUE.equals(executionContext.getResult())) {
+                profile.rowFetched();
+            }
+        } else if (target instanceof Connection && ("commit".equals(method) || "rollback".equals(method))) {
+            profile.transactionFinished();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.shopapp.common.web;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Builds strong entity tags from version parts. Controllers pass the result to
+ * {@code WebRequest.checkNotModified(..)} before building a response body, so an
+ * unchanged resource is answered with 304 without being loaded or serialized.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Object... parts) {
+        return Arrays.stream(parts)
+                .map(ETags::format)
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    private static String format(Object part) {
+        if (part == null) {
+            return "0";
+        }
+        if (part instanceof LocalDateTime timestamp) {
+            long micros = timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+            return Long.toString(micros, 36);
+        }
+        return part.toString();
+    }
+}
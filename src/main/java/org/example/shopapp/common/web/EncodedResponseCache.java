@@ -0,0 +1,210 @@
+package org.example.shopapp.common.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bodies of responses rendered from cached objects, encoded once (and gzipped once when
+ * large enough) and then copied straight to the servlet response without going through
+ * Jackson again. Bodies are keyed weakly by the identity of the object they were rendered
+ * from, so when a data cache invalidates or replaces that object its bytes are dropped
+ * with it and can never outlive the data.
+ * <p>
+ * JSON is written unless the Accept header prefers CBOR or Smile; each representation is
+ * cached separately, up to {@code response-cache.max-size} each.
+ */
+@Component
+public class EncodedResponseCache implements MeterBinder {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final List<Format> formats;
+    private final List<MediaType> mediaTypes;
+    private final boolean gzipEnabled;
+    private final long gzipMinBytes;
+
+    public EncodedResponseCache(ObjectMapper objectMapper,
+                                MappingJackson2CborHttpMessageConverter cborConverter,
+                                MappingJackson2SmileHttpMessageConverter smileConverter,
+                                @Value("${response-cache.max-size:64MB}") DataSize maxSize,
+                                @Value("${response-cache.gzip.enabled:true}") boolean gzipEnabled,
+                                @Value("${response-cache.gzip.min-size:1KB}") DataSize gzipMinSize) {
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinBytes = gzipMinSize.toBytes();
+        // JSON first: it is served when nothing else is preferred
+        this.formats = List.of(
+                new Format("json", MediaType.APPLICATION_JSON, objectMapper, bodies(maxSize)),
+                new Format("cbor", MediaType.APPLICATION_CBOR, cborConverter.getObjectMapper(), bodies(maxSize)),
+                new Format("smile", SMILE, smileConverter.getObjectMapper(), bodies(maxSize)));
+        this.mediaTypes = formats.stream().map(Format::mediaType).toList();
+    }
+
+    /**
+     * @param body the encoded body
+     * @param gzip the same body gzipped, or null when it is too small to be worth it
+     */
+    public record EncodedBody(byte[] body, byte[] gzip) {
+
+        int size() {
+            return body.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    /**
+     * Writes a 200 response with the body rendered from {@code source}, encoding
+     * {@code body} only if no encoding of this {@code source} instance in the negotiated
+     * format is cached.
+     */
+    public void writeOk(Object source, Supplier<?> body, CacheControl cacheControl,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Format format = formats.get(negotiate(mediaTypes, request.getHeader(HttpHeaders.ACCEPT)));
+        EncodedBody encoded = format.bodies().get(source, s -> encode(format.objectMapper(), body.get()));
+        boolean gzip = encoded.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] bytes = gzip ? encoded.gzip() : encoded.body();
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(format.mediaType().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (encoded.gzip() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Format format : formats) {
+            CaffeineCacheMetrics.monitor(registry, format.bodies(), "response-bodies-" + format.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    EncodedBody encode(ObjectMapper objectMapper, Object body) {
+        try {
+            byte[] encoded = objectMapper.writeValueAsBytes(body);
+            return new EncodedBody(encoded, gzipEnabled && encoded.length >= gzipMinBytes ? gzip(encoded) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode response body", e);
+        }
+    }
+
+    /**
+     * Index of the offered media type the Accept header prefers: highest quality first,
+     * then an exact match over a wildcard, then the earlier one in the header. Falls back to
+     * the first offered type when nothing offered is acceptable, as the body is written anyway.
+     */
+    static int negotiate(List<MediaType> offered, String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = accept == null || accept.isBlank() ? List.of() : MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            accepted = List.of();
+        }
+
+        int best = 0;
+        double bestQuality = 0;
+        boolean bestExact = false;
+        int bestPosition = Integer.MAX_VALUE;
+        for (int i = 0; i < offered.size(); i++) {
+            // The most specific range that matches decides the quality of an offered type
+            int position = -1;
+            for (int j = 0; j < accepted.size(); j++) {
+                if (accepted.get(j).includes(offered.get(i))
+                        && (position < 0 || specificity(accepted.get(j)) > specificity(accepted.get(position)))) {
+                    position = j;
+                }
+            }
+            if (position < 0) {
+                continue;
+            }
+            double quality = accepted.get(position).getQualityValue();
+            boolean exact = specificity(accepted.get(position)) == 2;
+            boolean preferred = quality != bestQuality ? quality > bestQuality
+                    : quality > 0 && (exact != bestExact ? exact : position < bestPosition);
+            if (preferred) {
+                best = i;
+                bestQuality = quality;
+                bestExact = exact;
+                bestPosition = position;
+            }
+        }
+        return best;
+    }
+
+    private static int specificity(MediaType range) {
+        if (range.isWildcardType()) {
+            return 0;
+        }
+        return range.isWildcardSubtype() ? 1 : 2;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                if (parts[i].trim().matches("q=0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static Cache<Object, EncodedBody> bodies(DataSize maxSize) {
+        return Caffeine.newBuilder()
+                .weakKeys()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Object source, EncodedBody body) -> body.size())
+                .recordStats()
+                .build();
+    }
+
+    private record Format(String name, MediaType mediaType, ObjectMapper objectMapper, Cache<Object, EncodedBody> bodies) {
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.shopapp.common.web;
+
+import org.example.shopapp.common.exception.InvalidCursorException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursors for paged listings. A cursor carries the position and size of the page
+ * it points at; the sort still comes from the request, so a client follows
+ * {@code nextCursor} with the same filter and sort parameters it started with.
+ */
+public final class PageCursors {
+
+    private PageCursors() {
+    }
+
+    public static String encode(Pageable pageable) {
+        String position = pageable.getPageNumber() + ":" + pageable.getPageSize();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * The page {@code cursor} points at, or {@code page} and {@code size} when there is no cursor.
+     */
+    public static Pageable pageable(String cursor, int page, int size, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return PageRequest.of(page, size, sort);
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = position.indexOf(':');
+            return PageRequest.of(Integer.parseInt(position.substring(0, separator)),
+                    Integer.parseInt(position.substring(separator + 1)), sort);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
+    }
+}
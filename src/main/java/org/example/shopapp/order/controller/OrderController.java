@@ -7,12 +7,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.shopapp.common.dto.response.ApiResponse;
+import org.example.shopapp.common.dto.response.PageResponse;
+import org.example.shopapp.common.web.PageCursors;
 import org.example.shopapp.order.dto.request.CreateOrderRequest;
 import org.example.shopapp.order.dto.response.OrderResponse;
 import org.example.shopapp.common.entity.Order;
 import org.example.shopapp.order.service.OrderService;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
@@ -55,18 +56,19 @@ public class OrderController {
     }
     
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<OrderResponse>>> getUserOrders(
+    public ResponseEntity<ApiResponse<PageResponse<OrderResponse>>> getUserOrders(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor) {
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageCursors.pageable(cursor, page, size, sort);
         
         Page<OrderResponse> orders = orderService.getUserOrders(pageable);
-        return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", orders));
+        return ResponseEntity.ok(ApiResponse.success("Orders retrieved successfully", PageResponse.of(orders)));
     }
     
     @GetMapping("/status/{status}")
@@ -24,4 +24,13 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     
     @Query("SELECT SUM(oi.quantity) FROM OrderItem oi WHERE oi.product.id = :productId")
     Long getTotalQuantitySoldByProductId(@Param("productId") Long productId);
+    
+    @Query("SELECT oi.product.id AS productId, SUM(oi.quantity) AS quantity FROM OrderItem oi " +
+           "WHERE oi.order.status <> org.example.shopapp.common.entity.Order.OrderStatus.CANCELLED GROUP BY oi.product.id")
+    List<ProductQuantity> sumQuantityByProduct();
+    
+    interface ProductQuantity {
+        Long getProductId();
+        Long getQuantity();
+    }
 }
@@ -1,5 +1,6 @@
 package org.example.shopapp.order.repository;
 
+import org.example.shopapp.common.datasource.DataSourcePool;
 import org.example.shopapp.common.entity.Order;
 import org.example.shopapp.common.entity.Order.OrderStatus;
 import org.springframework.data.domain.Page;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +31,7 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.user.id = :userId AND o.status = :status")
     List<Order> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") OrderStatus status);
     
+    @DataSourcePool(DataSourcePool.REPORTING)
     @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
     List<Order> findByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
@@ -41,8 +44,21 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
     long countByStatus(@Param("status") OrderStatus status);
     
+    @DataSourcePool(DataSourcePool.REPORTING)
     @Query("SELECT SUM(o.totalPrice) FROM Order o WHERE o.status = :status AND o.createdAt BETWEEN :startDate AND :endDate")
     Double getTotalRevenueByStatusAndDateRange(@Param("status") OrderStatus status, 
                                                @Param("startDate") LocalDateTime startDate, 
                                                @Param("endDate") LocalDateTime endDate);
+    
+    @DataSourcePool(DataSourcePool.REPORTING)
+    @Query("SELECT o.status AS status, COUNT(o) AS orders, SUM(o.totalPrice) AS revenue FROM Order o " +
+           "WHERE o.createdAt BETWEEN :startDate AND :endDate GROUP BY o.status")
+    List<StatusTotals> summarizeByStatus(@Param("startDate") LocalDateTime startDate,
+                                         @Param("endDate") LocalDateTime endDate);
+    
+    interface StatusTotals {
+        OrderStatus getStatus();
+        Long getOrders();
+        BigDecimal getRevenue();
+    }
 }
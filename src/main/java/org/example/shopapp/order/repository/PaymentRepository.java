@@ -1,5 +1,6 @@
 package org.example.shopapp.order.repository;
 
+import org.example.shopapp.common.datasource.DataSourcePool;
 import org.example.shopapp.common.entity.Payment;
 import org.example.shopapp.common.entity.Payment.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -23,11 +24,13 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.order.user.id = :userId")
     List<Payment> findByUserId(@Param("userId") Long userId);
     
+    @DataSourcePool(DataSourcePool.REPORTING)
     @Query("SELECT p FROM Payment p WHERE p.status = :status AND p.createdAt BETWEEN :startDate AND :endDate")
     List<Payment> findByStatusAndDateRange(@Param("status") PaymentStatus status, 
                                            @Param("startDate") LocalDateTime startDate, 
                                            @Param("endDate") LocalDateTime endDate);
     
+    @DataSourcePool(DataSourcePool.REPORTING)
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = :status AND p.createdAt BETWEEN :startDate AND :endDate")
     Double getTotalAmountByStatusAndDateRange(@Param("status") PaymentStatus status, 
                                               @Param("startDate") LocalDateTime startDate, 
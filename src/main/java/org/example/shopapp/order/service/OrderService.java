@@ -7,6 +7,8 @@ import org.example.shopapp.order.dto.response.OrderResponse;
 import org.example.shopapp.common.entity.*;
 import org.example.shopapp.common.exception.CartNotFoundException;
 import org.example.shopapp.common.exception.OrderNotFoundException;
+import org.example.shopapp.common.metrics.ShopMetrics;
+import org.example.shopapp.order.repository.OrderItemRepository;
 import org.example.shopapp.order.repository.OrderRepository;
 import org.example.shopapp.order.repository.PaymentRepository;
 import org.example.shopapp.order.repository.ShipmentRepository;
@@ -14,6 +16,7 @@ import org.example.shopapp.cart.repository.CartRepository;
 import org.example.shopapp.cart.repository.CartItemRepository;
 import org.example.shopapp.product.repository.ProductRepository;
 import org.example.shopapp.product.dto.response.ProductResponse;
+import org.example.shopapp.product.sales.ProductSalesTracker;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,7 +24,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -29,19 +35,26 @@ import java.util.List;
 public class OrderService {
     
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
     private final PaymentRepository paymentRepository;
     private final ShipmentRepository shipmentRepository;
+    private final ProductSalesTracker productSalesTracker;
+    private final ShopMetrics shopMetrics;
     
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
         User currentUser = getCurrentUser();
         Cart cart = cartRepository.findByUserIdWithItems(currentUser.getId())
-                .orElseThrow(() -> new CartNotFoundException("Cart not found for user"));
+                .orElseThrow(() -> {
+                    shopMetrics.checkout(ShopMetrics.CheckoutOutcome.NO_CART);
+                    return new CartNotFoundException("Cart not found for user");
+                });
         
         if (cart.getCartItems().isEmpty()) {
+            shopMetrics.checkout(ShopMetrics.CheckoutOutcome.EMPTY_CART);
             throw new RuntimeException("Cart is empty");
         }
         
@@ -58,27 +71,33 @@ public class OrderService {
         order = orderRepository.save(order);
         
         // Create order items and update stock
+        List<OrderItem> orderItems = new ArrayList<>();
+        Map<Long, Integer> unitsSold = new HashMap<>();
         for (CartItem cartItem : cart.getCartItems()) {
             Product product = cartItem.getProduct();
             
             // Check stock availability
             if (product.getStock() < cartItem.getQuantity()) {
+                shopMetrics.checkout(ShopMetrics.CheckoutOutcome.INSUFFICIENT_STOCK);
                 throw new RuntimeException("Insufficient stock for product: " + product.getName());
             }
             
             // Create order item
-            OrderItem.builder()
+            orderItems.add(OrderItem.builder()
                     .order(order)
                     .product(product)
                     .quantity(cartItem.getQuantity())
                     .price(cartItem.getPrice())
                     .productName(product.getName())
-                    .build();
+                    .build());
+            unitsSold.merge(product.getId(), cartItem.getQuantity(), Integer::sum);
             
             // Update product stock
             product.setStock(product.getStock() - cartItem.getQuantity());
             productRepository.save(product);
         }
+        order.getOrderItems().addAll(orderItemRepository.saveAll(orderItems));
+        productSalesTracker.recordAfterCommit(unitsSold);
         
         // Create payment record
         Payment payment = Payment.builder()
@@ -102,12 +121,15 @@ public class OrderService {
         
         // Clear cart
         cartItemRepository.deleteByCartId(cart.getId());
+        cart.getCartItems().clear();
         cart.setTotalPrice(BigDecimal.ZERO);
         cartRepository.save(cart);
+        shopMetrics.checkout(ShopMetrics.CheckoutOutcome.PLACED);
         
         return mapToOrderResponse(order);
     }
     
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long orderId) {
         Order order = orderRepository.findByIdWithPaymentAndShipment(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
@@ -121,12 +143,14 @@ public class OrderService {
         return mapToOrderResponse(order);
     }
     
+    @Transactional(readOnly = true)
     public Page<OrderResponse> getUserOrders(Pageable pageable) {
         User currentUser = getCurrentUser();
         Page<Order> orders = orderRepository.findByUserId(currentUser.getId(), pageable);
         return orders.map(this::mapToOrderResponse);
     }
     
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByStatus(Order.OrderStatus status) {
         List<Order> orders = orderRepository.findByStatus(status);
         return orders.stream()
@@ -136,9 +160,21 @@ public class OrderService {
     
     @Transactional
     public OrderResponse updateOrderStatus(Long orderId, Order.OrderStatus status) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findByIdWithItems(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
         
+        // Cancelled orders do not count as sold, so moving in or out of CANCELLED moves the counters
+        boolean wasCancelled = order.getStatus() == Order.OrderStatus.CANCELLED;
+        boolean cancelled = status == Order.OrderStatus.CANCELLED;
+        if (wasCancelled != cancelled) {
+            int sign = cancelled ? -1 : 1;
+            Map<Long, Integer> unitsSold = new HashMap<>();
+            for (OrderItem orderItem : order.getOrderItems()) {
+                unitsSold.merge(orderItem.getProduct().getId(), sign * orderItem.getQuantity(), Integer::sum);
+            }
+            productSalesTracker.recordAfterCommit(unitsSold);
+        }
+        
         order.setStatus(status);
         order = orderRepository.save(order);
         
@@ -161,11 +197,14 @@ public class OrderService {
         }
         
         // Restore stock
+        Map<Long, Integer> unitsReturned = new HashMap<>();
         for (OrderItem orderItem : order.getOrderItems()) {
             Product product = orderItem.getProduct();
             product.setStock(product.getStock() + orderItem.getQuantity());
             productRepository.save(product);
+            unitsReturned.merge(product.getId(), -orderItem.getQuantity(), Integer::sum);
         }
+        productSalesTracker.recordAfterCommit(unitsReturned);
         
         order.setStatus(Order.OrderStatus.CANCELLED);
         order = orderRepository.save(order);
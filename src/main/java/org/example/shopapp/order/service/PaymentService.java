@@ -11,6 +11,7 @@ import org.example.shopapp.common.exception.InvalidPaymentException;
 import org.example.shopapp.common.exception.OrderNotFoundException;
 import org.example.shopapp.order.repository.OrderRepository;
 import org.example.shopapp.order.repository.PaymentRepository;
+import org.example.shopapp.common.metrics.ShopMetrics;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +26,7 @@ public class PaymentService {
     
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
+    private final ShopMetrics shopMetrics;
     
     @Transactional
     public PaymentResponse processPayment(PaymentRequest request) {
@@ -61,10 +63,13 @@ public class PaymentService {
         }
         
         payment = paymentRepository.save(payment);
+        shopMetrics.payment(request.getPaymentMethod(), transactionId != null
+                ? ShopMetrics.PaymentResult.COMPLETED : ShopMetrics.PaymentResult.FAILED);
         
         return mapToPaymentResponse(payment);
     }
     
+    @Transactional(readOnly = true)
     public PaymentResponse getPaymentByOrderId(Long orderId) {
         Payment payment = paymentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new RuntimeException("Payment not found for order id: " + orderId));
@@ -79,6 +84,7 @@ public class PaymentService {
         return mapToPaymentResponse(payment);
     }
     
+    @Transactional(readOnly = true)
     public List<PaymentResponse> getUserPayments() {
         User currentUser = getCurrentUser();
         List<Payment> payments = paymentRepository.findByUserId(currentUser.getId());
@@ -103,10 +109,12 @@ public class PaymentService {
             payment.setStatus(Payment.PaymentStatus.REFUNDED);
             payment.setGatewayResponse("Refund successful: " + refundTransactionId);
         } else {
+            shopMetrics.payment(payment.getPaymentMethod(), ShopMetrics.PaymentResult.REFUND_FAILED);
             throw new InvalidPaymentException("Refund failed");
         }
         
         payment = paymentRepository.save(payment);
+        shopMetrics.payment(payment.getPaymentMethod(), ShopMetrics.PaymentResult.REFUNDED);
         
         return mapToPaymentResponse(payment);
     }
@@ -0,0 +1,117 @@
+package org.example.shopapp.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.shopapp.common.catalog.CategoryChangedEvent;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.concurrency.SingleFlight;
+import org.example.shopapp.product.dto.response.ProductResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Rendered {@link ProductResponse}s by product id. Entries are dropped once a change to the
+ * product commits; a category change drops everything since responses embed the category.
+ * Loads that started before an invalidation are not cached, so a reader racing a writer
+ * cannot put the old version back. Concurrent misses for the same product share one load.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    private final Cache<Long, ProductResponse> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<Long, ProductResponse> loads;
+
+    public ProductCache(@Value("${catalog.product-cache.max-size:50000}") long maxSize,
+                        @Value("${catalog.product-cache.ttl:10m}") Duration ttl,
+                        @Value("${catalog.product-cache.max-load-wait:2s}") Duration maxLoadWait) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.loads = new SingleFlight<>(maxLoadWait);
+    }
+
+    /**
+     * The cached product, or the result of {@code loader}. However many callers miss on
+     * the same id at once, only one of them runs the loader.
+     */
+    public ProductResponse get(Long id, Function<Long, ProductResponse> loader) {
+        ProductResponse cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        return loads.load(id, key -> {
+            long loadedAtGeneration = generation.get();
+            ProductResponse loaded = loader.apply(key);
+            if (generation.get() == loadedAtGeneration) {
+                cache.put(key, loaded);
+            }
+            return loaded;
+        });
+    }
+
+    public Map<Long, ProductResponse> getAllPresent(Collection<Long> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    /**
+     * Token to take before loading from the database and hand back to {@link #putAll}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void putAll(Map<Long, ProductResponse> products, long loadedAtGeneration) {
+        if (generation.get() == loadedAtGeneration) {
+            cache.putAll(products);
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "products");
+        FunctionCounter.builder("cache.loads.coalesced", loads, SingleFlight::sharedCount)
+                .description("Cache misses served by joining a load already in flight")
+                .tag("cache", "products")
+                .register(registry);
+    }
+
+    /**
+     * Drops {@code id} and any load of it in flight, for a cached copy found to be older
+     * than the database.
+     */
+    public void evict(Long id) {
+        generation.incrementAndGet();
+        loads.forget(id);
+        cache.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        generation.incrementAndGet();
+        loads.forgetAll();
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,238 @@
+package org.example.shopapp.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.shopapp.common.catalog.CatalogVersion;
+import org.example.shopapp.common.catalog.CategoryChangedEvent;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.concurrency.SingleFlight;
+import org.example.shopapp.common.datasource.ReadWriteRoutingDataSource;
+import org.example.shopapp.product.dto.response.ProductResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Product listing pages by category, sort, page and size, served stale-while-revalidate.
+ * A page is fresh for {@code fresh-for} after it was loaded; after that, or once a product
+ * write in its category commits, it is still served while a single background refresh
+ * replaces it. A refresh that fails (the database is down) leaves the stale page in place,
+ * retried no more than once per {@code fresh-for}, until {@code hard-ttl} evicts it.
+ * <p>
+ * A product write marks the pages of its current category and the unfiltered listing
+ * stale. Pages of the category a product was moved out of catch up when they age out.
+ */
+@Component
+@Slf4j
+public class ProductListingCache implements MeterBinder, DisposableBean {
+
+    private final Cache<ListingKey, Entry> cache;
+    private final SingleFlight<ListingKey, Listing> loads;
+    private final Set<ListingKey> refreshing = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor refresher;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate transactionTemplate;
+    private final long freshForNanos;
+    // Bumped before every invalidation scans the cache, so a page loaded across one is
+    // marked stale by whichever of the two runs last
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+
+    public ProductListingCache(CatalogVersion catalogVersion,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${catalog.listing-cache.max-size:10000}") long maxSize,
+                               @Value("${catalog.listing-cache.fresh-for:5s}") Duration freshFor,
+                               @Value("${catalog.listing-cache.hard-ttl:5m}") Duration hardTtl,
+                               @Value("${catalog.listing-cache.refresh-threads:2}") int refreshThreads,
+                               @Value("${catalog.listing-cache.max-load-wait:2s}") Duration maxLoadWait) {
+        this.catalogVersion = catalogVersion;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.freshForNanos = freshFor.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(hardTtl)
+                .recordStats()
+                .build();
+        this.loads = new SingleFlight<>(maxLoadWait);
+        this.refresher = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000), Thread.ofPlatform().name("listing-refresh-", 0).daemon().factory());
+    }
+
+    /**
+     * @param catalogVersion the catalog version read before the page was loaded, for its ETag
+     */
+    public record Listing(Page<ProductResponse> products, long catalogVersion) {
+    }
+
+    /**
+     * @param categoryId the category filter, or null for all active products
+     */
+    public record ListingKey(Long categoryId, String sort, int page, int size) {
+
+        public static ListingKey of(Long categoryId, Pageable pageable) {
+            return new ListingKey(categoryId, pageable.getSort().toString(), pageable.getPageNumber(), pageable.getPageSize());
+        }
+    }
+
+    /**
+     * The cached page for {@code key}, loading it with {@code loader} on a miss. The
+     * loader runs in a read-only transaction on the primary, on a background thread when
+     * refreshing.
+     */
+    public Listing get(ListingKey key, Supplier<Page<ProductResponse>> loader) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return loads.load(key, k -> store(k, null, load(loader)).listing());
+        }
+
+        long now = System.nanoTime();
+        if (entry.isStale(now)) {
+            staleHits.increment();
+            if (now >= entry.retryAtNanos) {
+                refreshInBackground(key, entry, loader);
+            }
+        }
+        return entry.listing();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "product-listings");
+        FunctionCounter.builder("cache.stale.hits", staleHits, LongAdder::sum)
+                .description("Stale entries served while a refresh runs or the database is unavailable")
+                .tag("cache", "product-listings")
+                .register(registry);
+        FunctionCounter.builder("cache.refresh.failures", failedRefreshes, LongAdder::sum)
+                .description("Background refreshes that failed and left the stale entry in place")
+                .tag("cache", "product-listings")
+                .register(registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isRemoved()) {
+            invalidateWhere(key -> true);
+            return;
+        }
+        Long categoryId = event.document().categoryId();
+        invalidateWhere(key -> key.categoryId() == null || Objects.equals(key.categoryId(), categoryId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Every page embeds category names
+        invalidateWhere(key -> true);
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    private void invalidateWhere(Predicate<ListingKey> affected) {
+        invalidations.incrementAndGet();
+        cache.asMap().forEach((key, entry) -> {
+            if (affected.test(key)) {
+                entry.invalidate();
+            }
+        });
+    }
+
+    private Entry load(Supplier<Page<ProductResponse>> loader) {
+        long invalidationsAtStart = invalidations.get();
+        long version = catalogVersion.current();
+        // From the primary: a page read from a lagging replica would be cached as fresh
+        Page<ProductResponse> products = ReadWriteRoutingDataSource.onPrimary(
+                () -> transactionTemplate.execute(status -> loader.get()));
+        return new Entry(new Listing(products, version), System.nanoTime() + freshForNanos, invalidationsAtStart);
+    }
+
+    private Entry store(ListingKey key, Entry replaced, Entry loaded) {
+        if (replaced == null) {
+            cache.put(key, loaded);
+        } else {
+            cache.asMap().replace(key, replaced, loaded);
+        }
+        if (invalidations.get() != loaded.invalidationsAtLoad) {
+            loaded.invalidate();
+        }
+        return loaded;
+    }
+
+    private void refreshInBackground(ListingKey key, Entry stale, Supplier<Page<ProductResponse>> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    store(key, stale, load(loader));
+                } catch (RuntimeException e) {
+                    failedRefreshes.increment();
+                    stale.retryAtNanos = System.nanoTime() + freshForNanos;
+                    log.warn("Refreshing product listing {} failed, serving the stale page: {}", key, e.toString());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Listing listing;
+        private final long staleAtNanos;
+        private final long invalidationsAtLoad;
+        private volatile boolean invalidated;
+        private volatile long retryAtNanos = Long.MIN_VALUE;
+
+        private Entry(Listing listing, long staleAtNanos, long invalidationsAtLoad) {
+            this.listing = listing;
+            this.staleAtNanos = staleAtNanos;
+            this.invalidationsAtLoad = invalidationsAtLoad;
+        }
+
+        private Listing listing() {
+            return listing;
+        }
+
+        private boolean isStale(long now) {
+            return invalidated || now - staleAtNanos >= 0;
+        }
+
+        private void invalidate() {
+            invalidated = true;
+        }
+    }
+}
@@ -5,10 +5,15 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.example.shopapp.common.dto.response.ApiResponse;
+import org.example.shopapp.common.exception.ServiceBusyException;
 import org.example.shopapp.product.dto.response.CategoryResponse;
 import org.example.shopapp.product.service.CategoryService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,11 +25,17 @@ public class CategoryController {
     
     private final CategoryService categoryService;
     
-    @Operation(summary = "Get all categories", description = "Retrieves a list of all available product categories")
+    @Operation(summary = "Get all categories", description = "Retrieves a list of all available product categories. " +
+            "The response carries an ETag; send it back in If-None-Match to get 304 Not Modified while the list is unchanged")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories() {
-        List<CategoryResponse> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories(WebRequest webRequest) {
+        CategoryService.CategorySnapshot snapshot = categoryService.getCategorySnapshot();
+        if (webRequest.checkNotModified(snapshot.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Categories retrieved successfully", snapshot.categories()));
     }
     
     @Operation(summary = "Get category by ID", description = "Retrieves a specific category by its ID")
@@ -34,6 +45,10 @@ public class CategoryController {
         try {
             CategoryResponse category = categoryService.getCategoryById(id);
             return ResponseEntity.ok(ApiResponse.success("Category retrieved successfully", category));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
@@ -3,18 +3,39 @@ package org.example.shopapp.product.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.shopapp.common.catalog.CatalogVersion;
 import org.example.shopapp.common.dto.response.ApiResponse;
+import org.example.shopapp.common.dto.response.PageResponse;
+import org.example.shopapp.common.exception.ServiceBusyException;
+import org.example.shopapp.common.web.EncodedResponseCache;
+import org.example.shopapp.common.web.PageCursors;
+import org.example.shopapp.product.cache.ProductListingCache;
+import org.example.shopapp.product.dto.request.ProductBatchRequest;
+import org.example.shopapp.product.dto.response.ProductBatchResponse;
+import org.example.shopapp.product.dto.response.ProductFilterResponse;
 import org.example.shopapp.product.dto.response.ProductResponse;
+import org.example.shopapp.product.dto.response.ProductSuggestionResponse;
+import org.example.shopapp.product.dto.response.TopSellingProductResponse;
+import org.example.shopapp.product.dto.response.TrendingProductResponse;
+import org.example.shopapp.product.search.ProductFilterIndex;
 import org.example.shopapp.product.service.ProductService;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UriUtils;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
@@ -23,97 +44,253 @@ import java.math.BigDecimal;
 public class ProductController {
     
     private final ProductService productService;
+    private final CatalogVersion catalogVersion;
+    private final EncodedResponseCache encodedResponses;
     
     @Operation(summary = "Get all products", description = "Retrieves a paginated list of all active products")
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<ProductResponse>>> getAllProducts(
+    public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> getAllProducts(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of items per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Number of items per page, at most " + ProductService.MAX_LISTING_PAGE_SIZE) @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Field to sort by") @RequestParam(defaultValue = "id") String sortBy,
-            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "nextCursor of the previous page; takes precedence over page and size") @RequestParam(required = false) String cursor,
+            ServletWebRequest webRequest) throws IOException {
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageCursors.pageable(cursor, page, size, sort);
         
-        Page<ProductResponse> products = productService.getAllProducts(pageable);
-        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+        ProductListingCache.Listing listing = productService.getListing(null, pageable);
+        if (isListingNotModified(webRequest, listing.catalogVersion())) {
+            return null;
+        }
+        encodedResponses.writeOk(listing, () -> ApiResponse.success("Products retrieved successfully", PageResponse.of(listing.products())),
+                CacheControl.noCache(), webRequest.getRequest(), webRequest.getResponse());
+        return null;
+    }
+    
+    @Operation(summary = "Get products by IDs", description = "Retrieves up to " + ProductService.MAX_BATCH_IDS +
+            " products in one call, e.g. ?ids=1,2,3. Products are returned in request order and unknown IDs are listed separately")
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<ProductBatchResponse>> getProductsByIds(
+            @Parameter(description = "Comma-separated product IDs") @RequestParam List<Long> ids) {
+        try {
+            ProductBatchResponse products = productService.getProductsByIds(ids);
+            return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @Operation(summary = "Get products by IDs (POST)", description = "Same as GET with ids, for ID lists too long for a URL")
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<ProductBatchResponse>> getProductsByIdsBatch(
+            @Valid @RequestBody ProductBatchRequest request) {
+        try {
+            ProductBatchResponse products = productService.getProductsByIds(request.getIds());
+            return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @Operation(summary = "Filter products", description = "Combines category, price bucket and stock filters over active products " +
+            "using the in-memory bitmap index. Returns the matching product IDs for the page plus facet counts")
+    @GetMapping("/filter")
+    public ResponseEntity<ApiResponse<ProductFilterResponse>> filterProducts(
+            @Parameter(description = "Category IDs to include (any of)") @RequestParam(required = false) List<Long> categoryId,
+            @Parameter(description = "Price buckets to include (any of), e.g. 0-25 or 500+") @RequestParam(required = false) List<String> priceBucket,
+            @Parameter(description = "Only products in stock") @RequestParam(defaultValue = "false") boolean inStock,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page, at most " + ProductFilterIndex.MAX_PAGE_SIZE) @RequestParam(defaultValue = "20") int size,
+            ServletWebRequest webRequest) {
+        try {
+            if (isListingNotModified(webRequest)) {
+                return null;
+            }
+            ProductFilterResponse result = productService.filterProducts(categoryId, priceBucket, inStock, page, size);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(ApiResponse.success("Products filtered successfully", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @Operation(summary = "Suggest products", description = "Typeahead suggestions of product and category names starting " +
+            "with the given prefix (at any word), ranked by popularity. Served from memory without a database query")
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<ProductSuggestionResponse>>> suggestProducts(
+            @Parameter(description = "Prefix typed so far") @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(defaultValue = "10") int limit) {
+        List<ProductSuggestionResponse> suggestions = productService.suggestProducts(prefix, limit);
+        return ResponseEntity.ok(ApiResponse.success("Suggestions retrieved successfully", suggestions));
+    }
+    
+    @Operation(summary = "Get top-selling products", description = "Best sellers by units sold, overall or within a category. " +
+            "The ranking is refreshed periodically, so recent orders may take a short while to show up")
+    @GetMapping("/top-selling")
+    public ResponseEntity<ApiResponse<List<TopSellingProductResponse>>> getTopSellingProducts(
+            @Parameter(description = "Category ID, omit for the whole catalog") @RequestParam(required = false) Long categoryId,
+            @Parameter(description = "Maximum number of products") @RequestParam(defaultValue = "10") int limit) {
+        List<TopSellingProductResponse> products = productService.getTopSellingProducts(categoryId, limit);
+        return ResponseEntity.ok(ApiResponse.success("Top-selling products retrieved successfully", products));
+    }
+    
+    @Operation(summary = "Get trending products", description = "Products with the most views and add-to-carts over the " +
+            "last hour, estimated in memory and refreshed every few seconds")
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<List<TrendingProductResponse>>> getTrendingProducts(
+            @Parameter(description = "Maximum number of products") @RequestParam(defaultValue = "10") int limit) {
+        List<TrendingProductResponse> products = productService.getTrendingProducts(limit);
+        return ResponseEntity.ok(ApiResponse.success("Trending products retrieved successfully", products));
     }
     
     @Operation(summary = "Get product by ID", description = "Retrieves a specific product by its ID")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<ProductResponse>> getProductById(
-            @Parameter(description = "Product ID") @PathVariable Long id) {
+            @Parameter(description = "Product ID") @PathVariable Long id,
+            ServletWebRequest webRequest) throws IOException {
+        ProductResponse product;
         try {
-            ProductResponse product = productService.getProductById(id);
-            return ResponseEntity.ok(ApiResponse.success("Product retrieved successfully", product));
+            String eTag = productService.getProductETag(id);
+            if (eTag != null && webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+            product = productService.getProductById(id, eTag);
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error(e.getMessage()));
         }
+        // The version actually served, which is newer than the lookup if a write landed in between
+        webRequest.getResponse().setHeader(HttpHeaders.ETAG, ProductService.eTagOf(product));
+        encodedResponses.writeOk(product, () -> ApiResponse.success("Product retrieved successfully", product),
+                CacheControl.noCache(), webRequest.getRequest(), webRequest.getResponse());
+        return null;
     }
     
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<ApiResponse<Page<ProductResponse>>> getProductsByCategory(
+    public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> getProductsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest webRequest) throws IOException {
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageCursors.pageable(cursor, page, size, sort);
         
-        Page<ProductResponse> products = productService.getProductsByCategory(categoryId, pageable);
-        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+        ProductListingCache.Listing listing = productService.getListing(categoryId, pageable);
+        if (isListingNotModified(webRequest, listing.catalogVersion())) {
+            return null;
+        }
+        encodedResponses.writeOk(listing, () -> ApiResponse.success("Products retrieved successfully", PageResponse.of(listing.products())),
+                CacheControl.noCache(), webRequest.getRequest(), webRequest.getResponse());
+        return null;
     }
     
+    @Operation(summary = "Search products", description = "Searches active products by name and description. When nothing " +
+            "matches, falls back to typo-tolerant name matching ranked by similarity; the corrected query is returned " +
+            "in the message and, URL-encoded, in the X-Did-You-Mean header")
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<Page<ProductResponse>>> searchProducts(
+    public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> searchProducts(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest webRequest) {
+        
+        if (isListingNotModified(webRequest)) {
+            return null;
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageCursors.pageable(cursor, page, size, sort);
         
-        Page<ProductResponse> products = productService.searchProducts(keyword, pageable);
-        return ResponseEntity.ok(ApiResponse.success("Search results retrieved successfully", products));
+        ProductService.SearchResult result = productService.searchProductsWithCorrection(keyword, pageable);
+        if (result.didYouMean() != null) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .header("X-Did-You-Mean", UriUtils.encode(result.didYouMean(), StandardCharsets.UTF_8))
+                    .body(ApiResponse.success("No exact matches for '" + keyword + "'. Did you mean '"
+                            + result.didYouMean() + "'? Showing results for it", PageResponse.of(result.products())));
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Search results retrieved successfully", PageResponse.of(result.products())));
     }
     
     @GetMapping("/price-range")
-    public ResponseEntity<ApiResponse<Page<ProductResponse>>> getProductsByPriceRange(
+    public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> getProductsByPriceRange(
             @RequestParam BigDecimal minPrice,
             @RequestParam BigDecimal maxPrice,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest webRequest) {
+        
+        if (isListingNotModified(webRequest)) {
+            return null;
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageCursors.pageable(cursor, page, size, sort);
         
         Page<ProductResponse> products = productService.getProductsByPriceRange(minPrice, maxPrice, pageable);
-        return ResponseEntity.ok(ApiResponse.success("Products retrieved successfully", products));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Products retrieved successfully", PageResponse.of(products)));
     }
     
     @GetMapping("/available")
-    public ResponseEntity<ApiResponse<Page<ProductResponse>>> getAvailableProducts(
+    public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> getAvailableProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            ServletWebRequest webRequest) {
+        
+        if (isListingNotModified(webRequest)) {
+            return null;
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageCursors.pageable(cursor, page, size, sort);
         
         Page<ProductResponse> products = productService.getAvailableProducts(pageable);
-        return ResponseEntity.ok(ApiResponse.success("Available products retrieved successfully", products));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Available products retrieved successfully", PageResponse.of(products)));
+    }
+    
+    private boolean isListingNotModified(ServletWebRequest webRequest) {
+        return isListingNotModified(webRequest, catalogVersion.current());
+    }
+    
+    // Cached listings are tagged with the version they were loaded at, so a stale page
+    // never goes out under the ETag of the current catalog
+    private boolean isListingNotModified(ServletWebRequest webRequest, long version) {
+        String query = webRequest.getRequest().getQueryString();
+        String scope = webRequest.getRequest().getRequestURI() + (query != null ? "?" + query : "");
+        return webRequest.checkNotModified(catalogVersion.eTag(scope, version));
     }
 }
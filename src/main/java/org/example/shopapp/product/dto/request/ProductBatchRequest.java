@@ -0,0 +1,24 @@
+package org.example.shopapp.product.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to fetch several products at once")
+public class ProductBatchRequest {
+    
+    @NotEmpty(message = "At least one product ID is required")
+    @Size(max = 100, message = "At most 100 product IDs can be requested at once")
+    @Schema(description = "Product IDs, results are returned in this order", example = "[1, 2, 3]")
+    private List<Long> ids;
+}
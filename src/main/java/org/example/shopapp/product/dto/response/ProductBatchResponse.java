@@ -0,0 +1,18 @@
+package org.example.shopapp.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+    
+    private List<ProductResponse> products;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,25 @@
+package org.example.shopapp.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterResponse {
+    
+    private List<Long> ids;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private Map<Long, Integer> categoryCounts;
+    private Map<String, Integer> priceBucketCounts;
+    private int inStockCount;
+}
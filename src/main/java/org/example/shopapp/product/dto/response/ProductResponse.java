@@ -1,5 +1,6 @@
 package org.example.shopapp.product.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,4 +23,9 @@ public class ProductResponse {
     private Boolean isActive;
     private LocalDateTime createdAt;
     private CategoryResponse category;
+    // Version of the rows this response was built from, for its ETag
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+    @JsonIgnore
+    private LocalDateTime categoryUpdatedAt;
 }
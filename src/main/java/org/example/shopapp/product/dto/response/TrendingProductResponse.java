@@ -0,0 +1,16 @@
+package org.example.shopapp.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingProductResponse {
+    
+    private ProductResponse product;
+    private long score;
+}
@@ -1,20 +1,26 @@
 package org.example.shopapp.product.repository;
 
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.example.shopapp.common.datasource.DataSourcePool;
 import org.example.shopapp.common.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByIsActiveTrue(Pageable pageable);
     
     Page<Product> findByCategoryIdAndIsActiveTrue(Long categoryId, Pageable pageable);
@@ -32,6 +38,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.stock > 0")
     Page<Product> findAvailableProducts(Pageable pageable);
     
+    @DataSourcePool(DataSourcePool.REPORTING)
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.stock <= :threshold")
     List<Product> findLowStockProducts(@Param("threshold") Integer threshold);
     
@@ -39,4 +46,21 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     Optional<Product> findByIdWithCategory(@Param("id") Long id);
     
     List<Product> findByCategoryId(Long categoryId);
+    
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id IN :ids")
+    List<Product> findAllByIdWithCategory(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT p.updatedAt AS updatedAt, c.updatedAt AS categoryUpdatedAt " +
+           "FROM Product p JOIN p.category c WHERE p.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT new org.example.shopapp.common.catalog.ProductDocument(" +
+           "p.id, p.name, p.category.id, p.price, p.stock, COALESCE(p.isActive, false)) " +
+           "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductDocument> findDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    interface ProductVersion {
+        LocalDateTime getUpdatedAt();
+        LocalDateTime getCategoryUpdatedAt();
+    }
 }
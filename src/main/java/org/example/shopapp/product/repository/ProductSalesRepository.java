@@ -0,0 +1,9 @@
+package org.example.shopapp.product.repository;
+
+import org.example.shopapp.common.entity.ProductSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductSalesRepository extends JpaRepository<ProductSales, Long> {
+}
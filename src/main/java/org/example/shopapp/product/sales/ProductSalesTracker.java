@@ -0,0 +1,164 @@
+package org.example.shopapp.product.sales;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.shopapp.common.datasource.ReadWriteRoutingDataSource;
+import org.example.shopapp.common.entity.ProductSales;
+import org.example.shopapp.order.repository.OrderItemRepository;
+import org.example.shopapp.product.repository.ProductSalesRepository;
+import org.example.shopapp.product.search.ProductSuggestionIndex;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Units sold per product, kept in memory and moved by committed orders and cancellations
+ * instead of summing {@code order_items}. Changes since the last flush are written to
+ * {@code product_sales} in one batched transaction on a fixed delay.
+ */
+@Component
+@Slf4j
+public class ProductSalesTracker {
+
+    private final ProductSalesRepository productSalesRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, LongAdder> totals = new ConcurrentHashMap<>();
+    // Drained with getAndSet(0), which unlike LongAdder.sumThenReset cannot lose a concurrent add
+    private final ConcurrentHashMap<Long, AtomicLong> unflushed = new ConcurrentHashMap<>();
+
+    public ProductSalesTracker(ProductSalesRepository productSalesRepository,
+                               OrderItemRepository orderItemRepository,
+                               ProductSuggestionIndex productSuggestionIndex,
+                               PlatformTransactionManager transactionManager) {
+        this.productSalesRepository = productSalesRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.productSuggestionIndex = productSuggestionIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds sold (positive) or returned (negative) units per product once the current
+     * transaction commits, or immediately when there is none.
+     */
+    public void recordAfterCommit(Map<Long, Integer> unitsByProduct) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(unitsByProduct);
+                }
+            });
+        } else {
+            record(unitsByProduct);
+        }
+    }
+
+    public long unitsSold(Long productId) {
+        LongAdder total = totals.get(productId);
+        return total != null ? total.sum() : 0;
+    }
+
+    public Map<Long, Long> unitsSoldByProduct() {
+        Map<Long, Long> snapshot = new HashMap<>(totals.size());
+        totals.forEach((productId, total) -> snapshot.put(productId, total.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Loads the persisted counters before the catalog indexes are built. The first start
+     * against an empty table backfills it from {@code order_items} once.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        List<ProductSales> rows = ReadWriteRoutingDataSource.onPrimary(productSalesRepository::findAll);
+        if (rows.isEmpty()) {
+            rows = orderItemRepository.sumQuantityByProduct().stream()
+                    .map(row -> ProductSales.builder()
+                            .productId(row.getProductId())
+                            .unitsSold(row.getQuantity())
+                            .build())
+                    .toList();
+            if (!rows.isEmpty()) {
+                productSalesRepository.saveAll(rows);
+                log.info("Backfilled sales counters for {} products from order items", rows.size());
+            }
+        }
+        for (ProductSales row : rows) {
+            totals.computeIfAbsent(row.getProductId(), id -> new LongAdder()).add(row.getUnitsSold());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.sales.flush-interval:5s}")
+    public void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        unflushed.forEach((productId, delta) -> {
+            long units = delta.getAndSet(0);
+            if (units != 0) {
+                deltas.put(productId, units);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, ProductSales> rows = productSalesRepository.findAllById(deltas.keySet()).stream()
+                        .collect(Collectors.toMap(ProductSales::getProductId, Function.identity()));
+                List<ProductSales> changed = deltas.entrySet().stream()
+                        .map(delta -> {
+                            ProductSales row = rows.get(delta.getKey());
+                            if (row == null) {
+                                return ProductSales.builder()
+                                        .productId(delta.getKey())
+                                        .unitsSold(delta.getValue())
+                                        .build();
+                            }
+                            row.setUnitsSold(row.getUnitsSold() + delta.getValue());
+                            return row;
+                        })
+                        .toList();
+                productSalesRepository.saveAll(changed);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not flush sales counters for {} products, will retry", deltas.size(), e);
+            deltas.forEach((productId, units) ->
+                    unflushed.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(units));
+            return;
+        }
+
+        deltas.keySet().forEach(productId ->
+                productSuggestionIndex.updateProductPopularity(productId, unitsSold(productId)));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    void record(Map<Long, Integer> unitsByProduct) {
+        unitsByProduct.forEach((productId, units) -> {
+            totals.computeIfAbsent(productId, id -> new LongAdder()).add(units);
+            unflushed.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(units);
+        });
+    }
+}
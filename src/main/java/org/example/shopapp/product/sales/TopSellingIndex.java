@@ -0,0 +1,117 @@
+package org.example.shopapp.product.sales;
+
+import org.example.shopapp.common.catalog.CategoryDocument;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.example.shopapp.product.search.ProductIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Best sellers overall and per category. The ranking is recomputed on a fixed delay from
+ * {@link ProductSalesTracker} with one bounded min-heap per list, so reads only copy
+ * a prefix of a precomputed list.
+ */
+@Component
+public class TopSellingIndex implements ProductIndex {
+
+    private static final Comparator<TopSeller> BEST_FIRST = Comparator.comparingLong(TopSeller::unitsSold).reversed()
+            .thenComparingLong(TopSeller::productId);
+    private static final long NO_CATEGORY = -1L;
+
+    private final ProductSalesTracker productSalesTracker;
+    private final int topK;
+    private final Map<Long, Long> categoryOfListedProduct = new ConcurrentHashMap<>();
+    private volatile Ranking ranking = new Ranking(List.of(), Map.of());
+
+    public TopSellingIndex(ProductSalesTracker productSalesTracker,
+                           @Value("${catalog.sales.top-k:50}") int topK) {
+        this.productSalesTracker = productSalesTracker;
+        this.topK = topK;
+    }
+
+    public record TopSeller(long productId, long unitsSold) {
+    }
+
+    private record Ranking(List<TopSeller> overall, Map<Long, List<TopSeller>> byCategory) {
+    }
+
+    /**
+     * @param categoryId category to rank within, or null for the whole catalog
+     */
+    public List<TopSeller> top(Long categoryId, int limit) {
+        Ranking current = ranking;
+        List<TopSeller> sellers = categoryId == null
+                ? current.overall()
+                : current.byCategory().getOrDefault(categoryId, List.of());
+        return sellers.subList(0, Math.max(0, Math.min(limit, sellers.size())));
+    }
+
+    @Override
+    public void rebuild(List<ProductDocument> products, List<CategoryDocument> categories) {
+        categoryOfListedProduct.clear();
+        products.forEach(this::track);
+        refresh();
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        categoryOfListedProduct.remove(event.productId());
+        if (!event.isRemoved()) {
+            track(event.document());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.sales.top-refresh-interval:30s}",
+            initialDelayString = "${catalog.sales.top-refresh-interval:30s}")
+    public void refresh() {
+        PriorityQueue<TopSeller> overall = new PriorityQueue<>(BEST_FIRST.reversed());
+        Map<Long, PriorityQueue<TopSeller>> byCategory = new HashMap<>();
+        productSalesTracker.unitsSoldByProduct().forEach((productId, unitsSold) -> {
+            Long categoryId = categoryOfListedProduct.get(productId);
+            if (categoryId == null || unitsSold <= 0) {
+                return;
+            }
+            TopSeller seller = new TopSeller(productId, unitsSold);
+            offer(overall, seller);
+            if (categoryId != NO_CATEGORY) {
+                offer(byCategory.computeIfAbsent(categoryId, id -> new PriorityQueue<>(BEST_FIRST.reversed())), seller);
+            }
+        });
+
+        Map<Long, List<TopSeller>> rankedByCategory = new HashMap<>();
+        byCategory.forEach((categoryId, heap) -> rankedByCategory.put(categoryId, sorted(heap)));
+        ranking = new Ranking(sorted(overall), rankedByCategory);
+    }
+
+    private void track(ProductDocument product) {
+        if (product.active()) {
+            // Products without a category still rank overall
+            categoryOfListedProduct.put(product.id(), product.categoryId() != null ? product.categoryId() : NO_CATEGORY);
+        }
+    }
+
+    private void offer(PriorityQueue<TopSeller> heap, TopSeller seller) {
+        if (heap.size() < topK) {
+            heap.add(seller);
+        } else if (BEST_FIRST.compare(seller, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(seller);
+        }
+    }
+
+    private List<TopSeller> sorted(PriorityQueue<TopSeller> heap) {
+        List<TopSeller> sellers = new ArrayList<>(heap);
+        sellers.sort(BEST_FIRST);
+        return List.copyOf(sellers);
+    }
+}
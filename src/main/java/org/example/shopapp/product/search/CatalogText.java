@@ -0,0 +1,48 @@
+package org.example.shopapp.product.search;
+
+import java.text.Normalizer;
+
+/**
+ * Text normalization shared by the in-memory catalog indexes.
+ */
+final class CatalogText {
+
+    private CatalogText() {
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses every run of non-alphanumeric
+     * characters into a single space. A query keeps one trailing space so that
+     * "apple " only matches whole words.
+     */
+    static String normalize(String text, boolean keepTrailingSpace) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            } else if (!normalized.isEmpty() && normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == ' ' && !keepTrailingSpace) {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Splits a normalized key into its words.
+     */
+    static String[] words(String key) {
+        return key.isEmpty() ? new String[0] : key.split(" ");
+    }
+}
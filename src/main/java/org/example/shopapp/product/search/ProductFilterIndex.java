@@ -0,0 +1,303 @@
+package org.example.shopapp.product.search;
+
+import org.example.shopapp.common.catalog.CategoryDocument;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.example.shopapp.product.dto.response.ProductFilterResponse;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmaps of active product ids per category, per price bucket and for
+ * in-stock products. A filter is a handful of bitmap intersections, and each facet
+ * count is computed with every other selected filter applied, so clients can show
+ * how many results each alternative choice would give.
+ */
+@Component
+public class ProductFilterIndex implements ProductIndex {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BigDecimal[] priceBounds;
+    private final List<String> priceBucketLabels;
+    private Bitmaps bitmaps;
+
+    public ProductFilterIndex(@Value("${catalog.filter.price-bounds:25,50,100,250,500}") int[] priceBounds) {
+        this.priceBounds = Arrays.stream(priceBounds)
+                .mapToObj(BigDecimal::valueOf)
+                .toArray(BigDecimal[]::new);
+        this.priceBucketLabels = new ArrayList<>();
+        int lower = 0;
+        for (int bound : priceBounds) {
+            priceBucketLabels.add(lower + "-" + bound);
+            lower = bound;
+        }
+        priceBucketLabels.add(lower + "+");
+        this.bitmaps = new Bitmaps(priceBucketLabels.size());
+    }
+
+    public List<String> getPriceBucketLabels() {
+        return List.copyOf(priceBucketLabels);
+    }
+
+    @Override
+    public void rebuild(List<ProductDocument> products, List<CategoryDocument> categories) {
+        Bitmaps rebuilt = new Bitmaps(priceBucketLabels.size());
+        for (ProductDocument document : products) {
+            if (document.active()) {
+                rebuilt.add(document, priceBucket(document.price()));
+            }
+        }
+        rebuilt.optimize();
+
+        lock.writeLock().lock();
+        try {
+            bitmaps = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        int id = Math.toIntExact(event.productId());
+        lock.writeLock().lock();
+        try {
+            bitmaps.remove(id);
+            if (!event.isRemoved() && event.document().active()) {
+                bitmaps.add(event.document(), priceBucket(event.document().price()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filters active products. Empty selections mean "any"; {@code inStockOnly} false
+     * means stock is not filtered on. Matching ids are returned in ascending order.
+     */
+    public ProductFilterResponse filter(Collection<Long> categoryIds, Collection<String> priceBuckets,
+                                        boolean inStockOnly, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be 0 or more and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<Integer> bucketIndexes = new ArrayList<>();
+        for (String label : priceBuckets) {
+            int index = priceBucketLabels.indexOf(label);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown price bucket: " + label + ". Valid buckets are " + priceBucketLabels);
+            }
+            bucketIndexes.add(index);
+        }
+
+        lock.readLock().lock();
+        try {
+            Bitmaps current = bitmaps;
+            RoaringBitmap categoryFilter = categoryIds.isEmpty() ? null : RoaringBitmap.or(categoryIds.stream()
+                    .map(current::category)
+                    .filter(Objects::nonNull)
+                    .iterator());
+            RoaringBitmap priceFilter = bucketIndexes.isEmpty() ? null : RoaringBitmap.or(bucketIndexes.stream()
+                    .map(index -> current.byPriceBucket[index])
+                    .iterator());
+            RoaringBitmap stockFilter = inStockOnly ? current.inStock : null;
+
+            RoaringBitmap matches = current.intersect(categoryFilter, priceFilter, stockFilter);
+
+            Map<String, Integer> priceBucketCounts = new LinkedHashMap<>();
+            RoaringBitmap withoutPrice = current.intersect(categoryFilter, stockFilter);
+            for (int i = 0; i < priceBucketLabels.size(); i++) {
+                priceBucketCounts.put(priceBucketLabels.get(i), current.countWithin(withoutPrice, current.byPriceBucket[i]));
+            }
+
+            int total = matches.getCardinality();
+            return ProductFilterResponse.builder()
+                    .ids(page(matches, page, size))
+                    .page(page)
+                    .size(size)
+                    .totalElements(total)
+                    .totalPages((total + size - 1) / size)
+                    .categoryCounts(current.categoryCounts(current.intersect(priceFilter, stockFilter)))
+                    .priceBucketCounts(priceBucketCounts)
+                    .inStockCount(current.countWithin(current.intersect(categoryFilter, priceFilter), current.inStock))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int priceBucket(BigDecimal price) {
+        if (price == null) {
+            return -1;
+        }
+        for (int i = 0; i < priceBounds.length; i++) {
+            if (price.compareTo(priceBounds[i]) < 0) {
+                return i;
+            }
+        }
+        return priceBounds.length;
+    }
+
+    private List<Long> page(RoaringBitmap matches, int page, int size) {
+        long offset = (long) page * size;
+        if (offset >= matches.getCardinality()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(size);
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select((int) offset));
+        while (iterator.hasNext() && ids.size() < size) {
+            ids.add((long) iterator.next());
+        }
+        return ids;
+    }
+
+    /**
+     * One generation of the index. Category bitmaps are addressed by a dense ordinal, and
+     * {@code categoryOf} maps each product id back to its category ordinal so that facet
+     * counts can be taken as a histogram instead of one intersection per category.
+     */
+    private static final class Bitmaps {
+
+        private final RoaringBitmap active = new RoaringBitmap();
+        private final RoaringBitmap inStock = new RoaringBitmap();
+        private final RoaringBitmap[] byPriceBucket;
+        private final Map<Long, Integer> categoryOrdinals = new HashMap<>();
+        private final List<Long> categoryIds = new ArrayList<>();
+        private final List<RoaringBitmap> byCategory = new ArrayList<>();
+        private int[] categoryOf = new int[0];
+
+        private Bitmaps(int priceBuckets) {
+            byPriceBucket = new RoaringBitmap[priceBuckets];
+            for (int i = 0; i < priceBuckets; i++) {
+                byPriceBucket[i] = new RoaringBitmap();
+            }
+        }
+
+        private void add(ProductDocument document, int priceBucket) {
+            int id = Math.toIntExact(document.id());
+            active.add(id);
+            if (document.inStock()) {
+                inStock.add(id);
+            }
+            if (priceBucket >= 0) {
+                byPriceBucket[priceBucket].add(id);
+            }
+            if (document.categoryId() != null) {
+                int ordinal = categoryOrdinals.computeIfAbsent(document.categoryId(), categoryId -> {
+                    categoryIds.add(categoryId);
+                    byCategory.add(new RoaringBitmap());
+                    return categoryIds.size() - 1;
+                });
+                byCategory.get(ordinal).add(id);
+                if (id >= categoryOf.length) {
+                    int previousLength = categoryOf.length;
+                    categoryOf = Arrays.copyOf(categoryOf, Math.max(id + 1, previousLength * 2));
+                    Arrays.fill(categoryOf, previousLength, categoryOf.length, -1);
+                }
+                categoryOf[id] = ordinal;
+            }
+        }
+
+        private void remove(int id) {
+            if (!active.checkedRemove(id)) {
+                return;
+            }
+            inStock.remove(id);
+            for (RoaringBitmap bucket : byPriceBucket) {
+                bucket.remove(id);
+            }
+            if (id < categoryOf.length && categoryOf[id] >= 0) {
+                byCategory.get(categoryOf[id]).remove(id);
+                categoryOf[id] = -1;
+            }
+        }
+
+        private void optimize() {
+            active.runOptimize();
+            inStock.runOptimize();
+            byCategory.forEach(RoaringBitmap::runOptimize);
+            for (RoaringBitmap bucket : byPriceBucket) {
+                bucket.runOptimize();
+            }
+        }
+
+        private RoaringBitmap category(Long categoryId) {
+            Integer ordinal = categoryOrdinals.get(categoryId);
+            return ordinal != null ? byCategory.get(ordinal) : null;
+        }
+
+        private RoaringBitmap intersect(RoaringBitmap... filters) {
+            // Every filter bitmap only holds active ids, so "active" is needed only when
+            // nothing is selected. Intersecting smallest first keeps intermediates small.
+            RoaringBitmap[] selected = Arrays.stream(filters)
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparingLong(RoaringBitmap::getLongCardinality))
+                    .toArray(RoaringBitmap[]::new);
+            if (selected.length == 0) {
+                return active;
+            }
+            if (selected.length == 1) {
+                return selected[0];
+            }
+            RoaringBitmap result = RoaringBitmap.and(selected[0], selected[1]);
+            for (int i = 2; i < selected.length; i++) {
+                result.and(selected[i]);
+            }
+            return result;
+        }
+
+        private int countWithin(RoaringBitmap scope, RoaringBitmap bitmap) {
+            return scope == active ? bitmap.getCardinality() : RoaringBitmap.andCardinality(scope, bitmap);
+        }
+
+        private Map<Long, Integer> categoryCounts(RoaringBitmap scope) {
+            int[] counts = new int[categoryIds.size()];
+            if (scope == active || (long) scope.getCardinality() * 2 > active.getCardinality()) {
+                // Dense scope: start from the full category sizes and subtract the
+                // (smaller) set of active products outside the scope
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = byCategory.get(i).getCardinality();
+                }
+                if (scope != active) {
+                    RoaringBitmap.andNot(active, scope).forEach((int id) -> {
+                        if (categoryOf[id] >= 0) {
+                            counts[categoryOf[id]]--;
+                        }
+                    });
+                }
+            } else {
+                scope.forEach((int id) -> {
+                    if (categoryOf[id] >= 0) {
+                        counts[categoryOf[id]]++;
+                    }
+                });
+            }
+
+            Map<Long, Integer> result = new TreeMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    result.put(categoryIds.get(i), counts[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
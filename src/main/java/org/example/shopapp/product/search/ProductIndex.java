@@ -0,0 +1,30 @@
+package org.example.shopapp.product.search;
+
+import org.example.shopapp.common.catalog.CategoryChangedEvent;
+import org.example.shopapp.common.catalog.CategoryDocument;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+
+import java.util.List;
+
+/**
+ * An in-memory catalog index maintained by {@link ProductIndexer}.
+ */
+public interface ProductIndex {
+
+    /**
+     * Replaces the whole index with the given products and categories.
+     */
+    void rebuild(List<ProductDocument> products, List<CategoryDocument> categories);
+
+    /**
+     * Applies a single committed product change.
+     */
+    void apply(ProductChangedEvent event);
+
+    /**
+     * Applies a single committed category change.
+     */
+    default void apply(CategoryChangedEvent event) {
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.shopapp.product.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.shopapp.common.catalog.CategoryChangedEvent;
+import org.example.shopapp.common.catalog.CategoryDocument;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.example.shopapp.common.datasource.ReadWriteRoutingDataSource;
+import org.example.shopapp.product.repository.CategoryRepository;
+import org.example.shopapp.product.repository.ProductRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the catalog once at startup into the registered {@link ProductIndex}es and
+ * then keeps them current from committed product and category change events. Changes
+ * that commit while the initial load is running are replayed on top of the rebuilt indexes.
+ * <p>
+ * All index writes, including the rebuild itself, run on one writer thread in commit
+ * order, so committing threads only enqueue their change and never wait on a rebuild.
+ * Indexes therefore catch up with a commit shortly after it rather than before the
+ * committing request returns.
+ */
+@Component
+@Slf4j
+public class ProductIndexer implements DisposableBean {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final List<ProductIndex> indexes;
+    private final int batchSize;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("catalog-indexer").daemon().factory());
+    // Only touched on the writer thread
+    private final List<Object> pendingEvents = new ArrayList<>();
+    private boolean rebuilding;
+
+    public ProductIndexer(ProductRepository productRepository,
+                          CategoryRepository categoryRepository,
+                          List<ProductIndex> indexes,
+                          @Value("${catalog.index.load-batch-size:10000}") int batchSize) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.indexes = indexes;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        // Once this has run, every change is recorded for replay until the rebuild is in place
+        onWriter(() -> {
+            rebuilding = true;
+            pendingEvents.clear();
+        });
+
+        long start = System.nanoTime();
+        // From the primary, so nothing committed before the rebuild started can be missing
+        List<CategoryDocument> categories = ReadWriteRoutingDataSource.onPrimary(categoryRepository::findAll).stream()
+                .map(category -> new CategoryDocument(category.getId(), category.getName()))
+                .toList();
+        List<ProductDocument> products = ReadWriteRoutingDataSource.onPrimary(this::loadProducts);
+
+        onWriter(() -> {
+            for (ProductIndex index : indexes) {
+                index.rebuild(products, categories);
+                pendingEvents.forEach(event -> dispatch(index, event));
+            }
+            pendingEvents.clear();
+            rebuilding = false;
+        });
+        log.info("Built {} catalog indexes over {} products and {} categories in {} ms",
+                indexes.size(), products.size(), categories.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        writer.execute(() -> onChange(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        writer.execute(() -> onChange(event));
+    }
+
+    @Override
+    public void destroy() {
+        writer.shutdownNow();
+    }
+
+    private void onChange(Object event) {
+        if (rebuilding) {
+            pendingEvents.add(event);
+        }
+        for (ProductIndex index : indexes) {
+            try {
+                dispatch(index, event);
+            } catch (RuntimeException e) {
+                log.error("Applying {} to {} failed", event, index.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private void dispatch(ProductIndex index, Object event) {
+        if (event instanceof ProductChangedEvent productEvent) {
+            index.apply(productEvent);
+        } else if (event instanceof CategoryChangedEvent categoryEvent) {
+            index.apply(categoryEvent);
+        }
+    }
+
+    private void onWriter(Runnable task) {
+        try {
+            writer.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding catalog indexes", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rebuilding catalog indexes failed", e.getCause());
+        }
+    }
+
+    private List<ProductDocument> loadProducts() {
+        List<ProductDocument> documents = new ArrayList<>();
+        long afterId = 0;
+        List<ProductDocument> batch;
+        do {
+            batch = productRepository.findDocumentsAfter(afterId, Pageable.ofSize(batchSize));
+            documents.addAll(batch);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == batchSize);
+        return documents;
+    }
+}
@@ -0,0 +1,414 @@
+package org.example.shopapp.product.search;
+
+import org.example.shopapp.common.catalog.CategoryChangedEvent;
+import org.example.shopapp.common.catalog.CategoryDocument;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.example.shopapp.product.dto.response.ProductSuggestionResponse;
+import org.example.shopapp.product.sales.ProductSalesTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix typeahead over active product names and category names. Every word start of a
+ * normalized name is a key in a burst trie: a node keeps its keys in a small bucket until
+ * it grows past {@value #BURST_THRESHOLD}, then splits them into children by next
+ * character. Each node stores the top-k entries of its subtree by popularity, so a
+ * prefix that ends on a node is answered without looking at any other entry.
+ */
+@Component
+public class ProductSuggestionIndex implements ProductIndex {
+
+    private static final int BURST_THRESHOLD = 32;
+    private static final int MAX_WORDS_PER_NAME = 8;
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingLong((Entry entry) -> entry.popularity).reversed()
+            .thenComparingInt(entry -> entry.key.length())
+            .thenComparing(entry -> entry.text)
+            .thenComparing(entry -> entry.type)
+            .thenComparingLong(entry -> entry.id);
+
+    private final ProductSalesTracker productSalesTracker;
+    private final int topK;
+    private final int maxDepth;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Trie trie;
+
+    // Lazy: the tracker pushes popularity changes into this index after each flush
+    public ProductSuggestionIndex(@Lazy ProductSalesTracker productSalesTracker,
+                                  @Value("${catalog.suggest.top-k:10}") int topK,
+                                  @Value("${catalog.suggest.max-depth:24}") int maxDepth) {
+        this.productSalesTracker = productSalesTracker;
+        this.topK = topK;
+        this.maxDepth = maxDepth;
+        this.trie = new Trie();
+    }
+
+    public List<ProductSuggestionResponse> suggest(String prefix, int limit) {
+        String normalizedPrefix = CatalogText.normalize(prefix, true);
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.find(normalizedPrefix, Math.min(limit, topK)).stream()
+                    .map(Entry::toResponse)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild(List<ProductDocument> products, List<CategoryDocument> categories) {
+        // The tracker has loaded its counters by the time the catalog indexes are built
+        Map<Long, Long> unitsSold = productSalesTracker.unitsSoldByProduct();
+
+        Trie rebuilt = new Trie();
+        for (ProductDocument product : products) {
+            if (product.active() && product.name() != null) {
+                rebuilt.putProduct(product, unitsSold.getOrDefault(product.id(), 0L));
+            }
+        }
+        for (CategoryDocument category : categories) {
+            rebuilt.putCategory(category);
+        }
+
+        lock.writeLock().lock();
+        try {
+            trie = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Entry existing = trie.products.get(event.productId());
+            ProductDocument document = event.document();
+            boolean listed = document != null && document.active() && document.name() != null;
+            if (existing != null && listed
+                    && existing.text.equals(document.name())
+                    && Objects.equals(existing.categoryId, document.categoryId())) {
+                // Stock and price changes do not affect suggestions
+                return;
+            }
+            long popularity = existing != null ? existing.popularity : 0;
+            trie.removeProduct(event.productId());
+            if (listed) {
+                trie.putProduct(document, popularity);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(CategoryChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Entry existing = trie.categories.get(event.categoryId());
+            if (existing != null && !event.isRemoved() && existing.text.equals(event.document().name())) {
+                return;
+            }
+            trie.removeCategory(event.categoryId());
+            if (!event.isRemoved()) {
+                trie.putCategory(event.document());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the popularity score of a product, e.g. from sales counts.
+     */
+    public void updateProductPopularity(Long productId, long popularity) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = trie.products.get(productId);
+            if (entry != null && entry.popularity != popularity) {
+                trie.reposition(entry, popularity);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private final class Trie {
+
+        private final Node root = new Node();
+        private final Map<Long, Entry> products = new HashMap<>();
+        private final Map<Long, Entry> categories = new HashMap<>();
+        private final Map<Long, Integer> productsPerCategory = new HashMap<>();
+
+        private List<Entry> find(String prefix, int limit) {
+            Node node = root;
+            for (int depth = 0; depth < prefix.length(); depth++) {
+                if (!node.burst) {
+                    return node.scan(prefix, limit);
+                }
+                node = node.child(prefix.charAt(depth));
+                if (node == null) {
+                    return List.of();
+                }
+            }
+            return Arrays.asList(node.top).subList(0, Math.min(limit, node.top.length));
+        }
+
+        private void putProduct(ProductDocument document, long popularity) {
+            Entry entry = new Entry(document.id(), SuggestionType.PRODUCT, document.name(), document.categoryId(), popularity);
+            products.put(entry.id, entry);
+            insert(entry);
+            if (document.categoryId() != null) {
+                int count = productsPerCategory.merge(document.categoryId(), 1, Integer::sum);
+                Entry category = categories.get(document.categoryId());
+                if (category != null) {
+                    reposition(category, count);
+                }
+            }
+        }
+
+        private void removeProduct(Long productId) {
+            Entry entry = products.remove(productId);
+            if (entry == null) {
+                return;
+            }
+            delete(entry);
+            if (entry.categoryId != null) {
+                Integer count = productsPerCategory.computeIfPresent(entry.categoryId, (id, current) -> current > 1 ? current - 1 : null);
+                Entry category = categories.get(entry.categoryId);
+                if (category != null) {
+                    reposition(category, count != null ? count : 0);
+                }
+            }
+        }
+
+        private void putCategory(CategoryDocument document) {
+            if (document.name() == null) {
+                return;
+            }
+            // Categories rank by how many active products they hold
+            Entry entry = new Entry(document.id(), SuggestionType.CATEGORY, document.name(), null,
+                    productsPerCategory.getOrDefault(document.id(), 0));
+            categories.put(entry.id, entry);
+            insert(entry);
+        }
+
+        private void removeCategory(Long categoryId) {
+            Entry entry = categories.remove(categoryId);
+            if (entry != null) {
+                delete(entry);
+            }
+        }
+
+        private void reposition(Entry entry, long popularity) {
+            delete(entry);
+            entry.popularity = popularity;
+            insert(entry);
+        }
+
+        private void insert(Entry entry) {
+            for (int offset : entry.wordStarts) {
+                Node node = root;
+                int depth = 0;
+                while (true) {
+                    node.offer(entry);
+                    if (!node.burst) {
+                        node.bucket.add(new KeyRef(entry, offset));
+                        node.burstIfNeeded(depth);
+                        break;
+                    }
+                    if (offset + depth == entry.key.length()) {
+                        node.bucket.add(new KeyRef(entry, offset));
+                        break;
+                    }
+                    node = node.childOrCreate(entry.key.charAt(offset + depth));
+                    depth++;
+                }
+            }
+        }
+
+        private void delete(Entry entry) {
+            for (int offset : entry.wordStarts) {
+                List<Node> path = new ArrayList<>();
+                Node node = root;
+                int depth = 0;
+                while (node != null) {
+                    path.add(node);
+                    if (!node.burst || offset + depth == entry.key.length()) {
+                        node.bucket.removeIf(ref -> ref.entry == entry && ref.offset == offset);
+                        break;
+                    }
+                    node = node.child(entry.key.charAt(offset + depth));
+                    depth++;
+                }
+                // Bottom-up, so each parent recomputes from its children's updated lists
+                for (int i = path.size() - 1; i >= 0; i--) {
+                    path.get(i).recomputeTopIfContains(entry);
+                }
+            }
+        }
+    }
+
+    private final class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private final List<KeyRef> bucket = new ArrayList<>();
+        private Entry[] top = new Entry[0];
+        private boolean burst;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newLabels[insertAt] = label;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            labels = newLabels;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        private void offer(Entry entry) {
+            for (Entry current : top) {
+                if (current == entry) {
+                    return;
+                }
+            }
+            if (top.length == topK && RANKING.compare(entry, top[top.length - 1]) >= 0) {
+                return;
+            }
+            int insertAt = -Arrays.binarySearch(top, entry, RANKING) - 1;
+            Entry[] updated = new Entry[Math.min(topK, top.length + 1)];
+            System.arraycopy(top, 0, updated, 0, insertAt);
+            updated[insertAt] = entry;
+            System.arraycopy(top, insertAt, updated, insertAt + 1, updated.length - insertAt - 1);
+            top = updated;
+        }
+
+        private void burstIfNeeded(int depth) {
+            if (bucket.size() <= BURST_THRESHOLD || depth >= maxDepth) {
+                return;
+            }
+            burst = true;
+            List<KeyRef> refs = new ArrayList<>(bucket);
+            bucket.clear();
+            for (KeyRef ref : refs) {
+                if (ref.offset + depth == ref.entry.key.length()) {
+                    bucket.add(ref);
+                } else {
+                    Node child = childOrCreate(ref.entry.key.charAt(ref.offset + depth));
+                    child.bucket.add(ref);
+                    child.offer(ref.entry);
+                }
+            }
+            for (Node child : children) {
+                child.burstIfNeeded(depth + 1);
+            }
+        }
+
+        private void recomputeTopIfContains(Entry entry) {
+            boolean contains = false;
+            for (Entry current : top) {
+                if (current == entry) {
+                    contains = true;
+                    break;
+                }
+            }
+            if (!contains) {
+                return;
+            }
+            Set<Entry> candidates = new LinkedHashSet<>();
+            bucket.forEach(ref -> candidates.add(ref.entry));
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            top = candidates.stream()
+                    .sorted(RANKING)
+                    .limit(topK)
+                    .toArray(Entry[]::new);
+        }
+
+        private List<Entry> scan(String prefix, int limit) {
+            return bucket.stream()
+                    .filter(ref -> ref.entry.key.startsWith(prefix, ref.offset))
+                    .map(ref -> ref.entry)
+                    .distinct()
+                    .sorted(RANKING)
+                    .limit(limit)
+                    .toList();
+        }
+    }
+
+    private enum SuggestionType {
+        PRODUCT, CATEGORY
+    }
+
+    private record KeyRef(Entry entry, int offset) {
+    }
+
+    private static final class Entry {
+
+        private final long id;
+        private final SuggestionType type;
+        private final String text;
+        private final String key;
+        private final int[] wordStarts;
+        private final Long categoryId;
+        private long popularity;
+
+        private Entry(long id, SuggestionType type, String text, Long categoryId, long popularity) {
+            this.id = id;
+            this.type = type;
+            this.text = text;
+            this.key = CatalogText.normalize(text, false);
+            this.categoryId = categoryId;
+            this.popularity = popularity;
+            List<Integer> starts = new ArrayList<>();
+            for (int i = 0; i < key.length() && starts.size() < MAX_WORDS_PER_NAME; i++) {
+                if (i == 0 || key.charAt(i - 1) == ' ') {
+                    starts.add(i);
+                }
+            }
+            this.wordStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private ProductSuggestionResponse toResponse() {
+            return ProductSuggestionResponse.builder()
+                    .id(id)
+                    .text(text)
+                    .type(type.name())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package org.example.shopapp.product.search;
+
+import org.example.shopapp.common.catalog.CategoryDocument;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant name search. Every distinct word of the active product names is a term
+ * with a bitmap of the products containing it, and every term is indexed by its
+ * character trigrams. A query word that is not a known term is replaced by the closest
+ * term within a small edit distance, found among the terms sharing enough trigrams
+ * with it. Products containing all (corrected) words are ranked by trigram similarity
+ * of their name to the query.
+ */
+@Component
+public class ProductTrigramIndex implements ProductIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxRankedCandidates;
+    private Terms terms = new Terms();
+
+    public ProductTrigramIndex(@Value("${catalog.fuzzy.max-ranked-candidates:5000}") int maxRankedCandidates) {
+        this.maxRankedCandidates = maxRankedCandidates;
+    }
+
+    /**
+     * @param correctedQuery the query after spelling correction, or null when every word
+     *                       was already a known term
+     * @param productIds     the ids for the requested page, best match first
+     * @param total          number of ranked matches that can be paged through
+     */
+    public record FuzzyResult(String correctedQuery, List<Long> productIds, int total) {
+
+        public static final FuzzyResult EMPTY = new FuzzyResult(null, List.of(), 0);
+    }
+
+    public FuzzyResult search(String query, int page, int size) {
+        String key = CatalogText.normalize(query, false);
+        String[] words = CatalogText.words(key);
+        if (words.length == 0) {
+            return FuzzyResult.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            Terms current = terms;
+            String[] corrected = new String[words.length];
+            RoaringBitmap matches = null;
+            for (int i = 0; i < words.length; i++) {
+                Integer termId = current.resolve(words[i]);
+                if (termId == null) {
+                    return FuzzyResult.EMPTY;
+                }
+                corrected[i] = current.terms.get(termId);
+                RoaringBitmap postings = current.postings.get(termId);
+                matches = matches == null ? postings : RoaringBitmap.and(matches, postings);
+            }
+            if (matches.isEmpty()) {
+                return FuzzyResult.EMPTY;
+            }
+
+            String correctedQuery = String.join(" ", corrected);
+            Set<String> queryTrigrams = trigrams(correctedQuery);
+            List<ScoredProduct> ranked = new ArrayList<>();
+            for (ScoredProduct candidate : current.mostOverlapping(matches, queryTrigrams, maxRankedCandidates)) {
+                String name = current.productKeys.get((long) candidate.id());
+                ranked.add(new ScoredProduct(candidate.id(), similarity(queryTrigrams, trigrams(name))));
+            }
+            ranked.sort(Comparator.comparingDouble(ScoredProduct::score).reversed()
+                    .thenComparingInt(ScoredProduct::id));
+
+            List<Long> ids = ranked.stream()
+                    .skip((long) page * size)
+                    .limit(size)
+                    .map(scored -> (long) scored.id())
+                    .toList();
+            return new FuzzyResult(correctedQuery.equals(key) ? null : correctedQuery, ids, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild(List<ProductDocument> products, List<CategoryDocument> categories) {
+        // Normalizing and tokenizing names is the expensive part and runs in parallel;
+        // term ids are then assigned in product id order so bitmaps are built by appending
+        List<IndexedName> names = products.parallelStream()
+                .filter(product -> product.active() && product.name() != null)
+                .map(product -> IndexedName.of(product.id(), product.name()))
+                .toList();
+
+        Terms rebuilt = new Terms();
+        for (IndexedName name : names) {
+            rebuilt.addProduct(name, false);
+        }
+        String[][] termTrigrams = rebuilt.terms.parallelStream()
+                .map(term -> trigrams(term).toArray(String[]::new))
+                .toArray(String[][]::new);
+        for (int termId = 0; termId < termTrigrams.length; termId++) {
+            for (String trigram : termTrigrams[termId]) {
+                rebuilt.trigramTerms.computeIfAbsent(trigram, t -> new RoaringBitmap()).add(termId);
+            }
+        }
+        rebuilt.postings.forEach(RoaringBitmap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            terms = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        ProductDocument document = event.document();
+        boolean listed = document != null && document.active() && document.name() != null;
+        IndexedName name = listed ? IndexedName.of(document.id(), document.name()) : null;
+
+        lock.writeLock().lock();
+        try {
+            String existing = terms.productKeys.get(event.productId());
+            if (name != null && name.key().equals(existing)) {
+                return;
+            }
+            terms.removeProduct(event.productId());
+            if (name != null) {
+                terms.addProduct(name, true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Character trigrams of a word or phrase, with {@code $} marking word boundaries.
+     */
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : CatalogText.words(text)) {
+            String padded = "$" + word + "$";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    static double similarity(Set<String> first, Set<String> second) {
+        if (first.isEmpty() || second.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String trigram : first) {
+            if (second.contains(trigram)) {
+                shared++;
+            }
+        }
+        return 2.0 * shared / (first.size() + second.size());
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions),
+     * giving up as soon as it must exceed {@code maxDistance}.
+     */
+    static int editDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static int allowedEdits(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    private record IndexedName(long id, String key, String[] words) {
+
+        static IndexedName of(long id, String name) {
+            String key = CatalogText.normalize(name, false);
+            return new IndexedName(id, key, Arrays.stream(CatalogText.words(key)).distinct().toArray(String[]::new));
+        }
+    }
+
+    private record ScoredProduct(int id, double score) {
+    }
+
+    private static final class Terms {
+
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<String> terms = new ArrayList<>();
+        private final List<RoaringBitmap> postings = new ArrayList<>();
+        private final Map<String, RoaringBitmap> trigramTerms = new HashMap<>();
+        private final Map<Long, String> productKeys = new HashMap<>();
+
+        private void addProduct(IndexedName name, boolean indexNewTerms) {
+            int id = Math.toIntExact(name.id());
+            productKeys.put(name.id(), name.key());
+            for (String word : name.words()) {
+                Integer termId = termIds.get(word);
+                if (termId == null) {
+                    termId = terms.size();
+                    termIds.put(word, termId);
+                    terms.add(word);
+                    postings.add(new RoaringBitmap());
+                    if (indexNewTerms) {
+                        for (String trigram : trigrams(word)) {
+                            trigramTerms.computeIfAbsent(trigram, t -> new RoaringBitmap()).add(termId);
+                        }
+                    }
+                }
+                postings.get(termId).add(id);
+            }
+        }
+
+        private void removeProduct(Long productId) {
+            String key = productKeys.remove(productId);
+            if (key == null) {
+                return;
+            }
+            int id = Math.toIntExact(productId);
+            for (String word : CatalogText.words(key)) {
+                Integer termId = termIds.get(word);
+                if (termId != null) {
+                    // Terms left without products stay in the dictionary but are never chosen
+                    postings.get(termId).remove(id);
+                }
+            }
+        }
+
+        /**
+         * Up to {@code limit} of the matching products most similar to the query, by the
+         * trigrams they share with it. Shared trigrams are looked up per term, once for the
+         * query, and a name's trigram count follows from its word lengths, so only the
+         * candidates kept are given the exact similarity score.
+         */
+        private List<ScoredProduct> mostOverlapping(RoaringBitmap matches, Set<String> queryTrigrams, int limit) {
+            // Bit i of a term's mask is set when the term contains the i-th query trigram
+            Map<Integer, Long> termMasks = new HashMap<>();
+            int bit = 0;
+            for (String trigram : queryTrigrams) {
+                if (bit == Long.SIZE) {
+                    break;
+                }
+                RoaringBitmap termsWithTrigram = trigramTerms.get(trigram);
+                if (termsWithTrigram != null) {
+                    long mask = 1L << bit;
+                    termsWithTrigram.forEach((int termId) -> termMasks.merge(termId, mask, (a, b) -> a | b));
+                }
+                bit++;
+            }
+
+            List<ScoredProduct> candidates = new ArrayList<>(matches.getCardinality());
+            for (int id : matches) {
+                long shared = 0;
+                int nameTrigrams = 0;
+                for (String word : CatalogText.words(productKeys.get((long) id))) {
+                    // A padded word has as many trigrams as characters
+                    nameTrigrams += word.length();
+                    Integer termId = termIds.get(word);
+                    if (termId != null) {
+                        shared |= termMasks.getOrDefault(termId, 0L);
+                    }
+                }
+                candidates.add(new ScoredProduct(id, 2.0 * Long.bitCount(shared) / (queryTrigrams.size() + nameTrigrams)));
+            }
+            if (candidates.size() > limit) {
+                candidates.sort(Comparator.comparingDouble(ScoredProduct::score).reversed()
+                        .thenComparingInt(ScoredProduct::id));
+                return candidates.subList(0, limit);
+            }
+            return candidates;
+        }
+
+        private Integer resolve(String word) {
+            Integer exact = termIds.get(word);
+            if (exact != null && !postings.get(exact).isEmpty()) {
+                return exact;
+            }
+            int maxEdits = allowedEdits(word);
+            if (maxEdits == 0) {
+                return null;
+            }
+
+            // A substitution, insertion or deletion changes at most three trigrams and an
+            // adjacent transposition four, so a term within the allowed distance must
+            // share at least this many trigrams with the word
+            Set<String> wordTrigrams = trigrams(word);
+            int minShared = Math.max(1, wordTrigrams.size() - 4 * maxEdits);
+            Map<Integer, Integer> sharedCounts = new HashMap<>();
+            for (String trigram : wordTrigrams) {
+                RoaringBitmap termsWithTrigram = trigramTerms.get(trigram);
+                if (termsWithTrigram != null) {
+                    termsWithTrigram.forEach((int termId) -> sharedCounts.merge(termId, 1, Integer::sum));
+                }
+            }
+
+            Integer best = null;
+            int bestDistance = maxEdits + 1;
+            for (Map.Entry<Integer, Integer> candidate : sharedCounts.entrySet()) {
+                if (candidate.getValue() < minShared) {
+                    continue;
+                }
+                int termId = candidate.getKey();
+                RoaringBitmap termPostings = postings.get(termId);
+                if (termPostings.isEmpty()) {
+                    continue;
+                }
+                int distance = editDistance(word, terms.get(termId), maxEdits);
+                if (distance < bestDistance || (distance == bestDistance && best != null
+                        && termPostings.getCardinality() > postings.get(best).getCardinality())) {
+                    best = termId;
+                    bestDistance = distance;
+                }
+            }
+            return bestDistance <= maxEdits ? best : null;
+        }
+    }
+}
@@ -1,39 +1,108 @@
 package org.example.shopapp.product.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.example.shopapp.common.concurrency.SingleFlight;
+import org.example.shopapp.common.datasource.ReadWriteRoutingDataSource;
 import org.example.shopapp.product.dto.response.CategoryResponse;
 import org.example.shopapp.common.entity.Category;
 import org.example.shopapp.product.repository.CategoryRepository;
+import org.example.shopapp.common.web.ETags;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final MeterRegistry meterRegistry;
+    
+    // Categories change rarely, so reads are served from an immutable snapshot that is
+    // rebuilt after a write commits here, or once it is max-age old so that writes made on
+    // other instances show up. The version doubles as the ETag of the category list.
+    private final AtomicReference<CategorySnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    // Readers arriving while the snapshot (or a category missing from it) is being loaded
+    // wait for that load instead of each querying the database
+    private final SingleFlight<Long, CategorySnapshot> snapshotLoads;
+    private final SingleFlight<Long, CategoryResponse> categoryLoads;
+    private final long maxAgeNanos;
+    
+    public CategoryService(CategoryRepository categoryRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${catalog.category-cache.max-age:1m}") Duration maxAge,
+                           @Value("${catalog.category-cache.max-load-wait:5s}") Duration maxLoadWait) {
+        this.categoryRepository = categoryRepository;
+        this.meterRegistry = meterRegistry;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.snapshotLoads = new SingleFlight<>(maxLoadWait);
+        this.categoryLoads = new SingleFlight<>(maxLoadWait);
+    }
+    
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("cache.size", snapshot, current -> current.get() != null ? current.get().categories().size() : 0)
+                .description("Number of categories in the in-memory snapshot")
+                .tag("cache", "categories")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.loads.coalesced", snapshotLoads, SingleFlight::sharedCount)
+                .description("Cache misses served by joining a load already in flight")
+                .tag("cache", "categories")
+                .register(meterRegistry);
+    }
     
     public List<CategoryResponse> getAllCategories() {
-        List<Category> categories = categoryRepository.findAll();
-        return categories.stream()
-                .map(this::mapToCategoryResponse)
-                .toList();
+        return getCategorySnapshot().categories();
     }
     
+    public CategorySnapshot getCategorySnapshot() {
+        CategorySnapshot current = snapshot.get();
+        long currentVersion = version.get();
+        if (current != null && current.version() == currentVersion) {
+            if (System.nanoTime() - current.loadedAtNanos() < maxAgeNanos) {
+                return current;
+            }
+            // Expired: the first reader to notice moves the version on, so one reload
+            // replaces it and the ETag changes with it
+            version.compareAndSet(currentVersion, currentVersion + 1);
+            currentVersion = version.get();
+        }
+        return snapshotLoads.load(currentVersion, v -> {
+            CategorySnapshot loaded = loadSnapshot();
+            return snapshot.accumulateAndGet(loaded,
+                    (previous, next) -> previous != null && previous.version() > next.version() ? previous : next);
+        });
+    }
+    
+    @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(Long id) {
-        Category category = categoryRepository.findByIdWithProducts(id)
-                .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
-        return mapToCategoryResponse(category);
+        CategoryResponse category = getCategorySnapshot().byId().get(id);
+        if (category != null) {
+            return category;
+        }
+        return categoryLoads.load(id, key -> categoryRepository.findById(key)
+                .map(this::mapToCategoryResponse)
+                .orElseThrow(() -> new RuntimeException("Category not found with id: " + key)));
     }
     
     public List<CategoryResponse> searchCategories(String name) {
-        List<Category> categories = categoryRepository.findByNameContaining(name);
-        return categories.stream()
-                .map(this::mapToCategoryResponse)
+        return getCategorySnapshot().categories().stream()
+                .filter(category -> category.getName() != null && category.getName().contains(name))
                 .toList();
     }
     
@@ -49,6 +118,7 @@ public class CategoryService {
                 .build();
         
         category = categoryRepository.save(category);
+        invalidateSnapshotAfterCommit();
         return mapToCategoryResponse(category);
     }
     
@@ -61,6 +131,7 @@ public class CategoryService {
         category.setDescription(description);
         
         category = categoryRepository.save(category);
+        invalidateSnapshotAfterCommit();
         return mapToCategoryResponse(category);
     }
     
@@ -71,6 +142,35 @@ public class CategoryService {
         }
         
         categoryRepository.deleteById(id);
+        invalidateSnapshotAfterCommit();
+    }
+    
+    private CategorySnapshot loadSnapshot() {
+        // Read the version first: a write committing during the load bumps it again,
+        // so a snapshot that might miss that write is never served as current. The load
+        // goes to the primary since a lagging replica could still miss a committed write.
+        long loadedVersion = version.get();
+        long loadedAtNanos = System.nanoTime();
+        List<CategoryResponse> categories = ReadWriteRoutingDataSource.onPrimary(categoryRepository::findAll).stream()
+                .map(this::mapToCategoryResponse)
+                .toList();
+        Map<Long, CategoryResponse> byId = categories.stream()
+                .collect(Collectors.toUnmodifiableMap(CategoryResponse::getId, Function.identity()));
+        log.debug("Loaded category snapshot version {} with {} categories", loadedVersion, categories.size());
+        return new CategorySnapshot(loadedVersion, loadedAtNanos, categories, byId);
+    }
+    
+    private void invalidateSnapshotAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
     }
     
     private CategoryResponse mapToCategoryResponse(Category category) {
@@ -81,4 +181,12 @@ public class CategoryService {
                 .createdAt(category.getCreatedAt())
                 .build();
     }
+    
+    public record CategorySnapshot(long version, long loadedAtNanos, List<CategoryResponse> categories,
+                                   Map<Long, CategoryResponse> byId) {
+        
+        public String eTag() {
+            return ETags.of("categories", version);
+        }
+    }
 }
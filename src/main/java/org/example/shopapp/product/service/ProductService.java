@@ -2,61 +2,288 @@ package org.example.shopapp.product.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.shopapp.common.datasource.DataSourcePool;
+import org.example.shopapp.common.datasource.ReadWriteRoutingDataSource;
 import org.example.shopapp.product.dto.request.CreateProductRequest;
 import org.example.shopapp.product.dto.request.UpdateProductRequest;
+import org.example.shopapp.product.dto.response.ProductBatchResponse;
+import org.example.shopapp.product.dto.response.ProductFilterResponse;
 import org.example.shopapp.product.dto.response.ProductResponse;
+import org.example.shopapp.product.dto.response.ProductSuggestionResponse;
+import org.example.shopapp.product.dto.response.TopSellingProductResponse;
+import org.example.shopapp.product.dto.response.TrendingProductResponse;
 import org.example.shopapp.common.entity.Product;
 import org.example.shopapp.common.entity.Category;
 import org.example.shopapp.common.exception.ProductNotFoundException;
+import org.example.shopapp.common.web.ETags;
+import org.example.shopapp.product.cache.ProductCache;
+import org.example.shopapp.product.cache.ProductListingCache;
 import org.example.shopapp.product.repository.ProductRepository;
 import org.example.shopapp.product.repository.CategoryRepository;
+import org.example.shopapp.product.sales.TopSellingIndex;
+import org.example.shopapp.product.trending.TrendingTracker;
+import org.example.shopapp.product.search.ProductFilterIndex;
+import org.example.shopapp.product.search.ProductSuggestionIndex;
+import org.example.shopapp.product.search.ProductTrigramIndex;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductService {
     
+    public static final int MAX_BATCH_IDS = 100;
+    public static final int MAX_LISTING_PAGE_SIZE = 100;
+    
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductFilterIndex productFilterIndex;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final ProductTrigramIndex productTrigramIndex;
+    private final ProductCache productCache;
+    private final ProductListingCache productListingCache;
+    private final TopSellingIndex topSellingIndex;
+    private final TrendingTracker trendingTracker;
     
+    @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
         Page<Product> products = productRepository.findByIsActiveTrue(pageable);
         return products.map(this::mapToProductResponse);
     }
     
+    @Transactional(readOnly = true)
     public Page<ProductResponse> getProductsByCategory(Long categoryId, Pageable pageable) {
         Page<Product> products = productRepository.findByCategoryIdAndIsActiveTrue(categoryId, pageable);
         return products.map(this::mapToProductResponse);
     }
     
+    /**
+     * A storefront listing page, all active products or those of one category, from the
+     * stale-while-revalidate page cache. May lag product writes by a few seconds. Pages
+     * larger than {@value #MAX_LISTING_PAGE_SIZE} are cut down to it, since the cache is
+     * bounded by entry count rather than size.
+     */
+    public ProductListingCache.Listing getListing(Long categoryId, Pageable requested) {
+        Pageable pageable = requested.getPageSize() > MAX_LISTING_PAGE_SIZE
+                ? PageRequest.of(requested.getPageNumber(), MAX_LISTING_PAGE_SIZE, requested.getSort())
+                : requested;
+        return productListingCache.get(ProductListingCache.ListingKey.of(categoryId, pageable), () -> (categoryId == null
+                ? productRepository.findByIsActiveTrue(pageable)
+                : productRepository.findByCategoryIdAndIsActiveTrue(categoryId, pageable))
+                .map(this::mapToProductResponse));
+    }
+    
+    @Transactional(readOnly = true)
     public Page<ProductResponse> searchProducts(String keyword, Pageable pageable) {
         Page<Product> products = productRepository.searchProducts(keyword, pageable);
         return products.map(this::mapToProductResponse);
     }
     
+    /**
+     * Runs the regular search and, when it finds nothing at all, falls back to the
+     * typo-tolerant name index. Fallback results are ranked by similarity.
+     */
+    @Transactional(readOnly = true)
+    public SearchResult searchProductsWithCorrection(String keyword, Pageable pageable) {
+        Page<ProductResponse> products = searchProducts(keyword, pageable);
+        if (products.getTotalElements() > 0) {
+            return new SearchResult(products, null);
+        }
+        
+        ProductTrigramIndex.FuzzyResult fuzzy = productTrigramIndex.search(
+                keyword, pageable.getPageNumber(), pageable.getPageSize());
+        if (fuzzy.productIds().isEmpty()) {
+            return new SearchResult(products, null);
+        }
+        
+        Map<Long, Product> productsById = productRepository.findAllByIdWithCategory(fuzzy.productIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductResponse> content = fuzzy.productIds().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToProductResponse)
+                .toList();
+        return new SearchResult(new PageImpl<>(content, pageable, fuzzy.total()), fuzzy.correctedQuery());
+    }
+    
+    @Transactional(readOnly = true)
     public Page<ProductResponse> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         Page<Product> products = productRepository.findByPriceRange(minPrice, maxPrice, pageable);
         return products.map(this::mapToProductResponse);
     }
     
+    @Transactional(readOnly = true)
     public Page<ProductResponse> getAvailableProducts(Pageable pageable) {
         Page<Product> products = productRepository.findAvailableProducts(pageable);
         return products.map(this::mapToProductResponse);
     }
     
+    public ProductFilterResponse filterProducts(List<Long> categoryIds, List<String> priceBuckets,
+                                                boolean inStockOnly, int page, int size) {
+        return productFilterIndex.filter(
+                categoryIds != null ? categoryIds : List.of(),
+                priceBuckets != null ? priceBuckets : List.of(),
+                inStockOnly, page, size);
+    }
+    
+    public List<ProductSuggestionResponse> suggestProducts(String prefix, int limit) {
+        return productSuggestionIndex.suggest(prefix, limit);
+    }
+    
+    /**
+     * Best sellers from the periodically refreshed ranking, optionally within one category.
+     */
+    public List<TopSellingProductResponse> getTopSellingProducts(Long categoryId, int limit) {
+        List<TopSellingIndex.TopSeller> sellers = topSellingIndex.top(categoryId, Math.min(limit, MAX_BATCH_IDS));
+        if (sellers.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, ProductResponse> products = getProductsByIds(sellers.stream()
+                .map(TopSellingIndex.TopSeller::productId)
+                .toList())
+                .getProducts().stream()
+                .collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
+        return sellers.stream()
+                .filter(seller -> products.containsKey(seller.productId()))
+                .map(seller -> TopSellingProductResponse.builder()
+                        .product(products.get(seller.productId()))
+                        .unitsSold(seller.unitsSold())
+                        .build())
+                .toList();
+    }
+    
+    /**
+     * Products with the most recent views and add-to-carts; inactive products are skipped.
+     */
+    public List<TrendingProductResponse> getTrendingProducts(int limit) {
+        List<TrendingTracker.TrendingProduct> trending = trendingTracker.top(Math.min(limit, MAX_BATCH_IDS));
+        if (trending.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, ProductResponse> products = getProductsByIds(trending.stream()
+                .map(TrendingTracker.TrendingProduct::productId)
+                .toList())
+                .getProducts().stream()
+                .filter(product -> Boolean.TRUE.equals(product.getIsActive()))
+                .collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
+        return trending.stream()
+                .filter(product -> products.containsKey(product.productId()))
+                .map(product -> TrendingProductResponse.builder()
+                        .product(products.get(product.productId()))
+                        .score(product.score())
+                        .build())
+                .toList();
+    }
+    
+    @Transactional(readOnly = true)
     public ProductResponse getProductById(Long id) {
-        Product product = productRepository.findByIdWithCategory(id)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
-        return mapToProductResponse(product);
+        ProductResponse product = loadProduct(id);
+        trendingTracker.record(id, TrendingTracker.Signal.VIEW);
+        return product;
+    }
+    
+    /**
+     * The product to send with {@code eTag} from {@link #getProductETag}. The cache only
+     * hears of writes committed on this node, and only after they commit, so a cached copy
+     * of another version is dropped and loaded again rather than served under that ETag.
+     */
+    @Transactional(readOnly = true)
+    public ProductResponse getProductById(Long id, String eTag) {
+        ProductResponse product = loadProduct(id);
+        if (eTag != null && !eTag.equals(eTagOf(product))) {
+            productCache.evict(id);
+            product = loadProduct(id);
+        }
+        trendingTracker.record(id, TrendingTracker.Signal.VIEW);
+        return product;
+    }
+    
+    /**
+     * Resolves many products with one bulk cache lookup and a single {@code IN} query for
+     * the misses. Products come back in request order (duplicates dropped); ids that do
+     * not exist are listed in {@code missingIds}.
+     */
+    public ProductBatchResponse getProductsByIds(List<Long> ids) {
+        List<Long> requested = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (requested.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " product IDs can be requested at once");
+        }
+        
+        Map<Long, ProductResponse> found = new HashMap<>(productCache.getAllPresent(requested));
+        List<Long> misses = requested.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+        if (!misses.isEmpty()) {
+            long generation = productCache.generation();
+            Map<Long, ProductResponse> loaded = ReadWriteRoutingDataSource.onPrimary(
+                            () -> productRepository.findAllByIdWithCategory(misses)).stream()
+                    .map(this::mapToProductResponse)
+                    .collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
+            productCache.putAll(loaded, generation);
+            found.putAll(loaded);
+        }
+        
+        List<ProductResponse> products = new ArrayList<>(requested.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            ProductResponse product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return ProductBatchResponse.builder()
+                .products(products)
+                .missingIds(missingIds)
+                .build();
+    }
+    
+    /**
+     * Strong ETag of a single product from a two-column version lookup, or null when the
+     * product does not exist.
+     */
+    @Transactional(readOnly = true)
+    public String getProductETag(Long id) {
+        return productRepository.findVersionById(id)
+                .map(version -> ETags.of("product", id, version.getUpdatedAt(), version.getCategoryUpdatedAt()))
+                .orElse(null);
+    }
+    
+    public static String eTagOf(ProductResponse product) {
+        return ETags.of("product", product.getId(), product.getUpdatedAt(), product.getCategoryUpdatedAt());
+    }
+    
+    private ProductResponse loadProduct(Long id) {
+        // Loaded from the primary like the batch misses: the result is cached, so a
+        // lagging replica must not put back a version an invalidation just dropped
+        return productCache.get(id, key -> ReadWriteRoutingDataSource.onPrimary(
+                        () -> productRepository.findByIdWithCategory(key))
+                .map(this::mapToProductResponse)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + key)));
     }
     
+    @Transactional(readOnly = true)
+    @DataSourcePool(DataSourcePool.REPORTING)
     public List<ProductResponse> getLowStockProducts(Integer threshold) {
         List<Product> products = productRepository.findLowStockProducts(threshold);
         return products.stream()
@@ -159,6 +386,8 @@ public class ProductService {
                 .isActive(product.getIsActive())
                 .createdAt(product.getCreatedAt())
                 .category(mapToCategoryResponse(product.getCategory()))
+                .updatedAt(product.getUpdatedAt())
+                .categoryUpdatedAt(product.getCategory() != null ? product.getCategory().getUpdatedAt() : null)
                 .build();
     }
     
@@ -174,4 +403,7 @@ public class ProductService {
                 .createdAt(category.getCreatedAt())
                 .build();
     }
+    
+    public record SearchResult(Page<ProductResponse> products, String didYouMean) {
+    }
 }
@@ -0,0 +1,70 @@
+package org.example.shopapp.product.trending;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size frequency sketch: {@code depth} rows of {@code width} counters, each row
+ * indexed by its own hash of the item. Estimates never undercount; overcounting is
+ * bounded by the total weight divided by the width.
+ */
+final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x85EBCA77C2B2AE63L, 0x27D4EB2F165667C5L};
+
+    private final int depth;
+    private final int width;
+    private final AtomicIntegerArray counters;
+
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Sketch depth must be between 1 and " + SEEDS.length);
+        }
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicIntegerArray(depth * width);
+    }
+
+    void add(long item, int weight) {
+        for (int row = 0; row < depth; row++) {
+            counters.getAndAdd(row * width + column(item, row), weight);
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    /**
+     * Estimated weight of {@code item} across several sketches of the same shape, i.e.
+     * the estimate of the merged sketch.
+     */
+    static long estimate(CountMinSketch[] sketches, long item) {
+        CountMinSketch shape = sketches[0];
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < shape.depth; row++) {
+            int index = row * shape.width + shape.column(item, row);
+            long sum = 0;
+            for (CountMinSketch sketch : sketches) {
+                sum += sketch.counters.get(index);
+            }
+            estimate = Math.min(estimate, sum);
+        }
+        return estimate;
+    }
+
+    private int column(long item, int row) {
+        // Stafford variant 13 finalizer over the seeded item
+        long hash = item ^ SEEDS[row];
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash = hash ^ (hash >>> 31);
+        return (int) hash & (width - 1);
+    }
+}
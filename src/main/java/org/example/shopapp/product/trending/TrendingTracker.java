@@ -0,0 +1,128 @@
+package org.example.shopapp.product.trending;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Products with the most views and add-to-carts over a sliding window, in fixed memory.
+ * The window is a ring of count-min sketches, one per time bucket. Recording an event
+ * is a few atomic adds into the current bucket plus a write of the product id into a
+ * random slot of a small sample. The sample is what lets the refresh find new heavy
+ * hitters. The ranking is recomputed off the request path from the previous top
+ * products and the sampled ids.
+ */
+@Component
+public class TrendingTracker {
+
+    private static final Comparator<TrendingProduct> BEST_FIRST = Comparator.comparingLong(TrendingProduct::score).reversed()
+            .thenComparingLong(TrendingProduct::productId);
+
+    private final CountMinSketch[] buckets;
+    private final long bucketMillis;
+    private final int topK;
+    private final AtomicLongArray recentIds;
+    private volatile int currentBucket;
+    private long currentEpoch;
+    private volatile List<TrendingProduct> trending = List.of();
+
+    public TrendingTracker(@Value("${catalog.trending.window:1h}") Duration window,
+                           @Value("${catalog.trending.buckets:12}") int bucketCount,
+                           @Value("${catalog.trending.sketch-depth:4}") int sketchDepth,
+                           @Value("${catalog.trending.sketch-width:4096}") int sketchWidth,
+                           @Value("${catalog.trending.sample-size:4096}") int sampleSize,
+                           @Value("${catalog.trending.top-k:50}") int topK) {
+        this.buckets = new CountMinSketch[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new CountMinSketch(sketchDepth, sketchWidth);
+        }
+        this.bucketMillis = Math.max(1, window.toMillis() / bucketCount);
+        this.topK = topK;
+        this.recentIds = new AtomicLongArray(sampleSize);
+        this.currentEpoch = System.currentTimeMillis() / bucketMillis;
+        this.currentBucket = (int) (currentEpoch % bucketCount);
+    }
+
+    public enum Signal {
+        VIEW(1),
+        ADD_TO_CART(3);
+
+        private final int weight;
+
+        Signal(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    public record TrendingProduct(long productId, long score) {
+    }
+
+    public void record(Long productId, Signal signal) {
+        buckets[currentBucket].add(productId, signal.weight);
+        recentIds.lazySet(ThreadLocalRandom.current().nextInt(recentIds.length()), productId);
+    }
+
+    public List<TrendingProduct> top(int limit) {
+        List<TrendingProduct> current = trending;
+        return current.subList(0, Math.max(0, Math.min(limit, current.size())));
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.trending.refresh-interval:5s}")
+    public void refresh() {
+        refresh(System.currentTimeMillis());
+    }
+
+    synchronized void refresh(long now) {
+        advanceTo(now / bucketMillis);
+
+        Set<Long> candidates = new HashSet<>();
+        trending.forEach(product -> candidates.add(product.productId()));
+        for (int i = 0; i < recentIds.length(); i++) {
+            long productId = recentIds.get(i);
+            if (productId != 0) {
+                candidates.add(productId);
+            }
+        }
+
+        PriorityQueue<TrendingProduct> heap = new PriorityQueue<>(BEST_FIRST.reversed());
+        for (long productId : candidates) {
+            long score = CountMinSketch.estimate(buckets, productId);
+            if (score <= 0) {
+                continue;
+            }
+            TrendingProduct product = new TrendingProduct(productId, score);
+            if (heap.size() < topK) {
+                heap.add(product);
+            } else if (BEST_FIRST.compare(product, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(product);
+            }
+        }
+        List<TrendingProduct> ranked = new ArrayList<>(heap);
+        ranked.sort(BEST_FIRST);
+        trending = List.copyOf(ranked);
+    }
+
+    private void advanceTo(long epoch) {
+        if (epoch <= currentEpoch) {
+            return;
+        }
+        // Buckets about to be reused are cleared before writers are pointed at them
+        long expired = Math.min(epoch - currentEpoch, buckets.length);
+        for (long i = 1; i <= expired; i++) {
+            buckets[(int) ((currentBucket + i) % buckets.length)].clear();
+        }
+        currentEpoch = epoch;
+        currentBucket = (int) (epoch % buckets.length);
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.shopapp.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final String ROUTE = "GET /api/products/{id}";
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void tryAcquire_ShouldShedLowerPrioritiesFirst() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0, 0.2, 0.9);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+        }
+
+        // Then: half the limit is in flight
+        assertFalse(limit.tryAcquire(0.5), "reporting share is used up");
+        assertTrue(limit.tryAcquire(0.75), "catalog still fits");
+        assertEquals(6, limit.getInFlight());
+    }
+
+    @Test
+    void onSample_ShouldGrowLimit_WhileLatencyStaysAtBaseline() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 1000, 2.0, 0.2, 0.9);
+
+        // When: saturated at steady latency
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(ROUTE, FAST, limit.getLimit(), false);
+        }
+
+        // Then
+        assertTrue(limit.getLimit() > 40, "limit was " + limit.getLimit());
+    }
+
+    @Test
+    void onSample_ShouldNotGrow_WhenFarBelowLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 1000, 2.0, 0.2, 0.9);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(ROUTE, FAST, 2, false);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void onSample_ShouldShrinkLimit_WhenLatencyClimbs() {
+        // Given: a baseline at 10 ms
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 5, 1000, 2.0, 0.2, 0.9);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(ROUTE, FAST, 100, false);
+        }
+        int healthy = limit.getLimit();
+
+        // When: the database slows down tenfold
+        for (int i = 0; i < 30; i++) {
+            limit.onSample(ROUTE, FAST * 10, limit.getLimit(), false);
+        }
+
+        // Then
+        assertTrue(limit.getLimit() < healthy / 2, "limit went from " + healthy + " to " + limit.getLimit());
+    }
+
+    @Test
+    void release_ShouldBackOff_OnOverload_WithoutGoingBelowMinimum() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 50, 1000, 2.0, 0.2, 0.5);
+        assertTrue(limit.tryAcquire(1.0));
+
+        limit.release(ROUTE, FAST, 1, true);
+        assertEquals(50, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+
+        limit.onSample(ROUTE, FAST, 1, true);
+        assertEquals(50, limit.getLimit());
+    }
+
+    @Test
+    void release_ShouldApplyEverySample_FromConcurrentThreads() throws Exception {
+        // Given
+        int threads = 8;
+        int samplesPerThread = 500;
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1000, 1, 1000, 2.0, 0.2, 0.999);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        // When: every sample is an overload, so the final limit depends only on how many were applied
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < samplesPerThread; i++) {
+                    assertTrue(limit.tryAcquire(1.0));
+                    limit.release(ROUTE, FAST, 1, true);
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Then
+        double expected = 1000;
+        for (int i = 0; i < threads * samplesPerThread; i++) {
+            expected *= 0.999;
+        }
+        assertEquals((int) expected, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.shopapp.common.concurrency;
+
+import org.example.shopapp.common.exception.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void load_ShouldRunLoaderOnce_ForConcurrentCallersOfSameKey() throws Exception {
+        // Given
+        SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 50;
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> flight.load(42L, id -> {
+                    loaderCalls.incrementAndGet();
+                    await(release);
+                    return "product " + id;
+                })));
+            }
+            while (flight.loadCount() + flight.sharedCount() < callers) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("product 42", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        // Then
+        assertEquals(1, loaderCalls.get());
+        assertEquals(callers - 1, flight.sharedCount());
+    }
+
+    @Test
+    void load_ShouldShareLoaderException_AndLoadAgainAfterwards() throws Exception {
+        // Given
+        SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> leader = executor.submit(() -> flight.load(1L, id -> {
+                await(release);
+                throw new IllegalArgumentException("not found");
+            }));
+            while (flight.loadCount() == 0) {
+                Thread.sleep(5);
+            }
+            Future<?> follower = executor.submit(() -> flight.load(1L, id -> "unexpected"));
+            while (flight.sharedCount() == 0) {
+                Thread.sleep(5);
+            }
+
+            // When
+            release.countDown();
+
+            // Then
+            Exception failure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+            assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals("loaded", flight.load(1L, id -> "loaded"));
+    }
+
+    @Test
+    void load_ShouldFailFast_WhenLoadInFlightOutlastsMaxWait() throws Exception {
+        // Given
+        SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> flight.load(1L, id -> {
+                await(release);
+                return "slow";
+            }));
+            while (flight.loadCount() == 0) {
+                Thread.sleep(5);
+            }
+
+            // When / Then
+            assertThrows(ServiceBusyException.class, () -> flight.load(1L, id -> "unexpected"));
+            release.countDown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.shopapp.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.shopapp.common.entity.Category;
+import org.example.shopapp.common.entity.Product;
+import org.example.shopapp.product.repository.CategoryRepository;
+import org.example.shopapp.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "datasource.routing.enabled=true",
+        "datasource.routing.replica-urls=jdbc:h2:mem:testdb",
+        "datasource.routing.lag-query=SELECT 0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheLoadRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder()
+                .name("Routing category " + System.nanoTime())
+                .description("Cache load routing test")
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Routing product")
+                .description("Cache load routing test")
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .category(category)
+                .build());
+    }
+
+    @Test
+    void productBatch_ShouldLoadCacheMissesFromPrimary() throws Exception {
+        // Given
+        double replicaBefore = routedConnections("replica");
+        double primaryBefore = primaryConnections();
+
+        // When
+        mockMvc.perform(get("/api/products").param("ids", String.valueOf(product.getId())))
+                .andExpect(status().isOk());
+
+        // Then
+        assertEquals(0, routedConnections("replica") - replicaBefore, "cache misses are never loaded from a replica");
+        assertEquals(1, primaryConnections() - primaryBefore);
+    }
+
+    @Test
+    void productDetail_ShouldLoadCacheFromPrimary_AfterETagReadOnReplica() throws Exception {
+        // Given
+        double replicaBefore = routedConnections("replica");
+        double primaryBefore = routedConnections("primary_required");
+
+        // When
+        mockMvc.perform(get("/api/products/{id}", product.getId())).andExpect(status().isOk());
+
+        // Then
+        assertEquals(1, routedConnections("replica") - replicaBefore, "the ETag lookup reads from the replica");
+        assertEquals(1, routedConnections("primary_required") - primaryBefore,
+                "the cache load takes its own connection from the primary");
+    }
+
+    @Test
+    void productListing_ShouldLoadPageFromPrimary() throws Exception {
+        // Given
+        double replicaBefore = routedConnections("replica");
+        double primaryBefore = routedConnections("primary_required");
+
+        // When
+        mockMvc.perform(get("/api/products/category/{categoryId}", product.getCategory().getId())
+                        .param("size", "1000"))
+                .andExpect(status().isOk());
+
+        // Then
+        assertEquals(0, routedConnections("replica") - replicaBefore);
+        assertEquals(1, routedConnections("primary_required") - primaryBefore);
+    }
+
+    private double routedConnections(String reason) {
+        return meterRegistry.get("datasource.routing.connections").tag("reason", reason).counter().count();
+    }
+
+    private double primaryConnections() {
+        return meterRegistry.get("datasource.routing.connections").tag("target", "primary").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.shopapp.common.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourcePoolAspectTest {
+
+    private SampleReports reports;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleReports());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new DataSourcePoolAspect());
+        reports = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void usePool_ShouldSelectClassPool_AndRestoreAfterwards() {
+        assertEquals(DataSourcePool.REPORTING, reports.poolInside());
+        assertEquals(DataSourcePool.OLTP, PoolRoutingDataSource.currentPool());
+    }
+
+    @Test
+    void usePool_ShouldPreferMethodAnnotation() {
+        assertEquals("archive", reports.archivePoolInside());
+    }
+
+    @Test
+    void usePool_ShouldKeepPool_WhenTransactionAlreadyRunning() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertEquals(DataSourcePool.OLTP, reports.poolInside());
+    }
+
+    @Test
+    void statementTimeoutSql_ShouldMatchDatabase() {
+        assertEquals("SET QUERY_TIMEOUT 1500",
+                DataSourceConfig.statementTimeoutSql("jdbc:h2:mem:shop", Duration.ofMillis(1500)));
+        assertEquals("SET statement_timeout = 60000",
+                DataSourceConfig.statementTimeoutSql("jdbc:postgresql://db/shop", Duration.ofMinutes(1)));
+        assertNull(DataSourceConfig.statementTimeoutSql("jdbc:h2:mem:shop", null));
+        assertNull(DataSourceConfig.statementTimeoutSql("jdbc:sqlserver://db", Duration.ofSeconds(1)));
+    }
+
+    @DataSourcePool(DataSourcePool.REPORTING)
+    static class SampleReports {
+
+        public String poolInside() {
+            return PoolRoutingDataSource.currentPool();
+        }
+
+        @DataSourcePool("archive")
+        public String archivePoolInside() {
+            return PoolRoutingDataSource.currentPool();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.shopapp.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(2);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Replica replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        // Two independent H2 databases that identify themselves
+        DataSource primaryDatabase = database("primary");
+        replica = new Replica("replica-1", database("replica"));
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(5), 1000);
+        DataSource primary = ProxyDataSourceBuilder.create(primaryDatabase)
+                .listener(new WriteDetectingListener(readYourWrites))
+                .build();
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, List.of(replica), MAX_LAG, readYourWrites, meterRegistry));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void route_ShouldSendReadOnlyTransactionsToReplica_AndTheRestToPrimary() {
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+        assertEquals("primary", node());
+        assertEquals(1, meterRegistry.get("datasource.routing.connections").tag("reason", "replica").counter().count());
+    }
+
+    @Test
+    void route_ShouldFallBackToPrimary_WhenReplicaLagsOrIsUnreachable() {
+        replica.lagMeasured(MAX_LAG.plusMillis(1));
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        replica.lagMeasured(MAX_LAG);
+        assertEquals("replica", readOnly.execute(status -> node()));
+
+        replica.unreachable();
+        assertEquals("primary", readOnly.execute(status -> node()));
+        assertEquals(2, meterRegistry.get("datasource.routing.connections")
+                .tag("reason", "no_replica_available").counter().count());
+    }
+
+    @Test
+    void route_ShouldKeepUserOnPrimary_AfterTheirOwnCommittedWrite() {
+        signIn("alice");
+        readWrite.execute(status -> node());
+        assertEquals("replica", readOnly.execute(status -> node()), "a transaction that only read does not pin");
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO note (text) VALUES ('hello')"));
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        signIn("bob");
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void route_ShouldNotPinUser_WhenWriteRolledBack() {
+        signIn("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO note (text) VALUES ('discarded')");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void onPrimary_ShouldOverrideReadOnlyRouting() {
+        assertEquals("primary", ReadWriteRoutingDataSource.onPrimary(() -> readOnly.execute(status -> node())));
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE node (name VARCHAR(20))");
+        setup.execute("CREATE TABLE note (text VARCHAR(20))");
+        setup.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.shopapp.common.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VirtualThreadPinningMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    void report_ShouldGroupEventsBySite_WorstFirst() {
+        // Given
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, false, Duration.ofMillis(20), 100);
+
+        // When
+        monitor.record("a.Cart.add:10", Duration.ofMillis(30), List.of("a.Cart.add:10"));
+        monitor.record("a.Cart.add:10", Duration.ofMillis(50), List.of("a.Cart.add:10"));
+        monitor.record("b.Order.place:20", Duration.ofMillis(100), List.of("b.Order.place:20"));
+
+        // Then
+        PinningReport report = monitor.report();
+        assertFalse(report.enabled());
+        assertEquals(3, report.events());
+        assertEquals(180.0, report.pinnedMillis(), 0.001);
+        assertEquals(List.of("b.Order.place:20", "a.Cart.add:10"),
+                report.sites().stream().map(PinningReport.Site::frame).toList());
+        PinningReport.Site cart = report.sites().get(1);
+        assertEquals(2, cart.events());
+        assertEquals(50.0, cart.maxMillis(), 0.001);
+        assertEquals(3, meterRegistry.get("jvm.threads.virtual.pinned").counter().count());
+    }
+
+    @Test
+    void record_ShouldFoldNewSitesIntoOther_WhenSiteLimitReached() {
+        // Given
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, false, Duration.ofMillis(20), 2);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            monitor.record("site" + i, Duration.ofMillis(25), List.of());
+        }
+
+        // Then
+        assertEquals(3, monitor.report().sites().size());
+        assertEquals(3, monitor.report().sites().stream()
+                .filter(site -> site.frame().equals("other")).findFirst().orElseThrow().events());
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21, max = JRE.JAVA_23)
+    void start_ShouldReportSynchronizedBlockingOnVirtualThread() throws Exception {
+        // Given: before JDK 24 a virtual thread sleeping inside synchronized stays pinned
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, true, Duration.ofMillis(20), 100);
+        monitor.start();
+        Object lock = new Object();
+
+        // When
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleep(100);
+            }
+        }).join();
+
+        // Then
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (monitor.report().events() == 0 && System.nanoTime() < deadline) {
+            sleep(50);
+        }
+        PinningReport report = monitor.report();
+        assertTrue(report.enabled());
+        assertEquals(1, report.events());
+        assertTrue(report.sites().get(0).frame().startsWith(VirtualThreadPinningMonitorTest.class.getName()));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
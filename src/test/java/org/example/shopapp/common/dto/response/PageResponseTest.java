@@ -0,0 +1,61 @@
+package org.example.shopapp.common.dto.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.shopapp.common.exception.InvalidCursorException;
+import org.example.shopapp.common.web.PageCursors;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageResponseTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void of_ShouldPointNextCursorAtFollowingPage() {
+        // Given
+        Sort sort = Sort.by("price").descending();
+        PageImpl<String> page = new PageImpl<>(List.of("a", "b"), PageRequest.of(3, 2, sort), 20);
+
+        // When
+        PageResponse<String> response = PageResponse.of(page);
+        Pageable next = PageCursors.pageable(response.getNextCursor(), 0, 10, sort);
+
+        // Then
+        assertEquals(List.of("a", "b"), response.getItems());
+        assertEquals(20L, response.getTotal());
+        assertEquals(PageRequest.of(4, 2, sort), next);
+    }
+
+    @Test
+    void of_ShouldOmitCursorOnLastPage_AndTotalForSlice() throws Exception {
+        // Given
+        PageImpl<String> lastPage = new PageImpl<>(List.of("a"), PageRequest.of(1, 2), 3);
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+
+        // When
+        JsonNode lastPageJson = objectMapper.valueToTree(PageResponse.of(lastPage));
+        JsonNode sliceJson = objectMapper.valueToTree(PageResponse.of(slice));
+
+        // Then
+        assertFalse(lastPageJson.has("nextCursor"));
+        assertEquals(3, lastPageJson.get("total").asLong());
+        assertTrue(sliceJson.has("nextCursor"));
+        assertFalse(sliceJson.has("total"));
+    }
+
+    @Test
+    void pageable_ShouldRejectMalformedCursor() {
+        assertEquals(PageRequest.of(2, 5), PageCursors.pageable(null, 2, 5, Sort.unsorted()));
+        assertThrows(InvalidCursorException.class, () -> PageCursors.pageable("not a cursor", 0, 10, Sort.unsorted()));
+        assertThrows(InvalidCursorException.class, () -> PageCursors.pageable("LTE6MTA", 0, 10, Sort.unsorted()));
+    }
+}
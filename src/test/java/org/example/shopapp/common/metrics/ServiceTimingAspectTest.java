@@ -0,0 +1,53 @@
+package org.example.shopapp.common.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceTimingAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SampleService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceTimingAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void time_ShouldRecordPublicServiceMethods_TaggedWithOutcome() {
+        // When
+        service.greet("shop");
+        service.greet("shop");
+        assertThrows(IllegalStateException.class, service::fail);
+
+        // Then
+        Timer success = meterRegistry.get(ServiceTimingAspect.METRIC_NAME)
+                .tags("class", "SampleService", "method", "greet", "exception", "none")
+                .timer();
+        Timer failure = meterRegistry.get(ServiceTimingAspect.METRIC_NAME)
+                .tags("method", "fail", "exception", "IllegalStateException")
+                .timer();
+        assertEquals(2, success.count());
+        assertEquals(1, failure.count());
+    }
+
+    static class SampleService {
+
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.shopapp.common.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRateLimiterTest {
+
+    private AtomicLong now;
+    private InMemoryRateLimiter rateLimiter;
+    private RateLimitRule rule;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000_000_000L);
+        rateLimiter = new InMemoryRateLimiter(100, Duration.ofMinutes(10), now::get);
+        rule = new RateLimitRule("login", "POST", "/api/auth/login", 3, Duration.ofSeconds(3));
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacity_ThenReject() {
+        // When & Then
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", rule));
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", rule));
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", rule));
+        assertEquals(1000, rateLimiter.tryAcquire("ip:1", rule));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ip:1", rule);
+        }
+
+        // When
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // Then
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", rule));
+        assertTrue(rateLimiter.tryAcquire("ip:1", rule) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketsPerKey() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ip:1", rule);
+        }
+
+        // When & Then
+        assertTrue(rateLimiter.tryAcquire("ip:1", rule) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("ip:2", rule));
+    }
+
+    @Test
+    void tryAcquire_ShouldExpireIdleBuckets() {
+        // Given
+        rateLimiter.tryAcquire("ip:1", rule);
+        rateLimiter.tryAcquire("ip:2", rule);
+
+        // When
+        now.addAndGet(Duration.ofMinutes(11).toNanos());
+        rateLimiter.tryAcquire("ip:3", rule);
+
+        // Then
+        assertEquals(1, rateLimiter.size());
+    }
+
+    @Test
+    void tryAcquire_ShouldNeverHoldMoreThanMaxKeys() {
+        // Given
+        InMemoryRateLimiter smallLimiter = new InMemoryRateLimiter(2, Duration.ofMinutes(10), now::get);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            smallLimiter.tryAcquire("ip:" + i, rule);
+        }
+
+        // Then
+        assertTrue(smallLimiter.size() <= 2);
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.shopapp.common.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipfSamplerTest {
+
+    @Test
+    void frequenciesFollowZipfLaw() {
+        int n = 1000;
+        int samples = 200_000;
+        ZipfSampler sampler = new ZipfSampler(n, 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[n + 1];
+        for (int i = 0; i < samples; i++) {
+            int rank = sampler.sample(random);
+            assertTrue(rank >= 1 && rank <= n, "rank out of range: " + rank);
+            counts[rank]++;
+        }
+
+        double harmonic = 0;
+        for (int k = 1; k <= n; k++) {
+            harmonic += 1.0 / k;
+        }
+        assertEquals(1 / harmonic, counts[1] / (double) samples, 0.01);
+        assertEquals(0.5, counts[2] / (double) counts[1], 0.05);
+        assertTrue(counts[1] > counts[10] * 5);
+    }
+
+    @Test
+    void zeroExponentIsUniform() {
+        ZipfSampler sampler = new ZipfSampler(4, 0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] counts = new int[5];
+        for (int i = 0; i < 40_000; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        for (int k = 1; k <= 4; k++) {
+            assertEquals(10_000, counts[k], 500);
+        }
+    }
+
+    @Test
+    void rejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(10, -0.5));
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.shopapp.common.sql;
+
+import org.example.shopapp.common.entity.Category;
+import org.example.shopapp.common.entity.Product;
+import org.example.shopapp.product.repository.CategoryRepository;
+import org.example.shopapp.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        productIds.clear();
+        for (int c = 0; c < 3; c++) {
+            Category category = categoryRepository.save(Category.builder()
+                    .name("Budget category " + System.nanoTime())
+                    .description("Query budget test")
+                    .build());
+            for (int i = 0; i < 5; i++) {
+                productIds.add(productRepository.save(Product.builder()
+                        .name("Budget product " + c + "-" + i)
+                        .description("Query budget test")
+                        .price(BigDecimal.valueOf(10 + i))
+                        .stock(10)
+                        .category(category)
+                        .build()).getId());
+            }
+        }
+    }
+
+    @Test
+    @QueryBudget(endpoint = "GET /api/products/{id}", maxStatements = 2)
+    void productDetailStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/products/{id}", productIds.get(0))).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(endpoint = "GET /api/products", maxStatements = 2)
+    void productListingDoesNotQueryPerProduct() throws Exception {
+        mockMvc.perform(get("/api/products").param("size", "20")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(endpoint = "GET /api/products", maxStatements = 1)
+    void multiGetLoadsProductsInOneQuery() throws Exception {
+        String ids = productIds.stream().map(String::valueOf).reduce((a, b) -> a + "," + b).orElseThrow();
+        mockMvc.perform(get("/api/products").param("ids", ids)).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.shopapp.common.sql;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test when a request handled during it runs more SQL statements than allowed.
+ * The application context must come from the Spring extension, e.g. a
+ * {@code @SpringBootTest} driven through MockMvc.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(QueryBudgets.class)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    int maxStatements();
+
+    /**
+     * Route the budget applies to, as {@code "GET /api/products/{id}"}; empty applies it
+     * to every request. A named route must be hit at least once during the test.
+     */
+    String endpoint() default "";
+}
@@ -0,0 +1,81 @@
+package org.example.shopapp.common.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Collects the {@link RequestSqlProfile}s completed while a test runs and checks them
+ * against the {@link QueryBudget}s declared on the test method and class.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        List<RequestSqlProfile> profiles = new CopyOnWriteArrayList<>();
+        Consumer<RequestSqlProfile> listener = profiles::add;
+        profiler(context).addListener(listener);
+        context.getStore(NAMESPACE).put("profiles", profiles);
+        context.getStore(NAMESPACE).put("listener", listener);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterEach(ExtensionContext context) {
+        ExtensionContext.Store store = context.getStore(NAMESPACE);
+        Consumer<RequestSqlProfile> listener = store.remove("listener", Consumer.class);
+        List<RequestSqlProfile> profiles = store.remove("profiles", List.class);
+        if (listener == null) {
+            return;
+        }
+        profiler(context).removeListener(listener);
+        // A failing test already reports its own problem; budgets would only add noise
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (QueryBudget budget : budgets(context)) {
+            boolean matched = false;
+            for (RequestSqlProfile profile : profiles) {
+                if (!budget.endpoint().isEmpty() && !budget.endpoint().equals(profile.route())) {
+                    continue;
+                }
+                matched = true;
+                if (profile.statements() > budget.maxStatements()) {
+                    violations.add(String.format("%s ran %d statements, budget is %d",
+                            profile.route(), profile.statements(), budget.maxStatements()));
+                }
+            }
+            if (!matched && !budget.endpoint().isEmpty()) {
+                violations.add("No request to " + budget.endpoint() + " was made; seen "
+                        + profiles.stream().map(RequestSqlProfile::route).distinct().toList());
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new AssertionError("SQL query budget exceeded:\n  " + String.join("\n  ", violations));
+        }
+    }
+
+    private static List<QueryBudget> budgets(ExtensionContext context) {
+        List<QueryBudget> budgets = new ArrayList<>();
+        context.getTestMethod().ifPresent(method ->
+                budgets.addAll(AnnotationSupport.findRepeatableAnnotations(method, QueryBudget.class)));
+        context.getTestClass().ifPresent(type ->
+                budgets.addAll(AnnotationSupport.findRepeatableAnnotations(type, QueryBudget.class)));
+        return budgets;
+    }
+
+    private static SqlProfiler profiler(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(SqlProfiler.class);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.shopapp.common.web;
+
+import org.example.shopapp.common.dto.response.ApiResponse;
+import org.example.shopapp.common.dto.response.PageResponse;
+import org.example.shopapp.product.dto.response.CategoryResponse;
+import org.example.shopapp.product.dto.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryFormatsConfigTest {
+
+    private static final Type PRODUCT_PAGE =
+            new ParameterizedTypeReference<ApiResponse<PageResponse<ProductResponse>>>() {}.getType();
+
+    private final BinaryFormatsConfig config = new BinaryFormatsConfig();
+
+    @Test
+    void cbor_ShouldRoundTripProductPage() throws Exception {
+        assertRoundTrip(config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()), MediaType.APPLICATION_CBOR);
+    }
+
+    @Test
+    void smile_ShouldRoundTripProductPage() throws Exception {
+        assertRoundTrip(config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()),
+                MediaType.parseMediaType("application/x-jackson-smile"));
+    }
+
+    private static void assertRoundTrip(AbstractJackson2HttpMessageConverter converter, MediaType mediaType)
+            throws Exception {
+        // Given
+        ApiResponse<PageResponse<ProductResponse>> response = ApiResponse.success("Products retrieved successfully",
+                PageResponse.of(new PageImpl<>(List.of(product(1), product(2)), PageRequest.of(0, 2), 5)));
+
+        // When
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(response, PRODUCT_PAGE, mediaType, output);
+        Object read = converter.read(PRODUCT_PAGE, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        // Then
+        assertEquals(mediaType, output.getHeaders().getContentType());
+        assertEquals(response, read);
+    }
+
+    private static ProductResponse product(long id) {
+        return ProductResponse.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Description of product " + id)
+                .price(new BigDecimal("19.99"))
+                .stock(7)
+                .isActive(true)
+                .createdAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5, 6_000))
+                .category(CategoryResponse.builder().id(3L).name("Books").build())
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.shopapp.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.shopapp.common.dto.response.ApiResponse;
+import org.example.shopapp.product.dto.response.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MappingJackson2CborHttpMessageConverter cborConverter = new MappingJackson2CborHttpMessageConverter();
+    private final EncodedResponseCache cache = new EncodedResponseCache(objectMapper, cborConverter,
+            new MappingJackson2SmileHttpMessageConverter(), DataSize.ofMegabytes(1), true, DataSize.ofBytes(64));
+
+    @Test
+    void writeOk_ShouldEncodeOncePerSourceInstance() throws Exception {
+        // Given
+        ProductResponse product = product("Phone");
+        AtomicInteger encodings = new AtomicInteger();
+
+        // When
+        MockHttpServletResponse first = write(product, encodings, null);
+        MockHttpServletResponse second = write(product, encodings, null);
+        write(product("Phone"), encodings, null);
+
+        // Then
+        assertEquals(2, encodings.get(), "an equal but different instance is encoded again");
+        assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+        assertEquals(first.getContentAsByteArray().length, first.getContentLength());
+        assertEquals(objectMapper.writeValueAsString(ApiResponse.success("ok", product)), first.getContentAsString());
+        assertEquals("no-cache", first.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void writeOk_ShouldSendGzipVariant_OnlyWhenAccepted() throws Exception {
+        // Given
+        ProductResponse product = product("A product name long enough to be worth compressing ".repeat(4));
+        AtomicInteger encodings = new AtomicInteger();
+
+        // When
+        MockHttpServletResponse plain = write(product, encodings, "br;q=1.0, gzip;q=0");
+        MockHttpServletResponse gzipped = write(product, encodings, "br, gzip");
+
+        // Then
+        assertNull(plain.getHeader("Content-Encoding"));
+        assertEquals("gzip", gzipped.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", gzipped.getHeader("Vary"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertArrayEquals(plain.getContentAsByteArray(), in.readAllBytes());
+        }
+        assertTrue(gzipped.getContentLength() < plain.getContentLength());
+    }
+
+    @Test
+    void writeOk_ShouldEncodeEachNegotiatedFormatSeparately() throws Exception {
+        // Given
+        ProductResponse product = product("Phone");
+        AtomicInteger encodings = new AtomicInteger();
+
+        // When
+        MockHttpServletResponse json = write(product, encodings, "*/*", null);
+        MockHttpServletResponse cbor = write(product, encodings, "application/cbor, */*;q=0.5", null);
+        write(product, encodings, "application/cbor", null);
+
+        // Then
+        assertEquals(2, encodings.get());
+        assertEquals("application/json", json.getContentType());
+        assertEquals("application/cbor", cbor.getContentType());
+        assertEquals(objectMapper.readTree(json.getContentAsByteArray()),
+                cborConverter.getObjectMapper().readTree(cbor.getContentAsByteArray()));
+        assertTrue(cbor.getContentLength() < json.getContentLength());
+    }
+
+    @Test
+    void negotiate_ShouldPreferQualityThenExactMatchThenHeaderOrder() {
+        List<MediaType> offered = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+                MediaType.parseMediaType("application/x-jackson-smile"));
+
+        assertEquals(0, EncodedResponseCache.negotiate(offered, null));
+        assertEquals(0, EncodedResponseCache.negotiate(offered, "text/html"));
+        assertEquals(0, EncodedResponseCache.negotiate(offered, "application/*"));
+        assertEquals(1, EncodedResponseCache.negotiate(offered, "application/cbor, */*"));
+        assertEquals(2, EncodedResponseCache.negotiate(offered, "application/json;q=0.8, application/x-jackson-smile"));
+        assertEquals(1, EncodedResponseCache.negotiate(offered, "application/cbor, application/json"));
+        assertEquals(1, EncodedResponseCache.negotiate(offered, "*/*, application/json;q=0"));
+    }
+
+    private MockHttpServletResponse write(ProductResponse product, AtomicInteger encodings, String acceptEncoding)
+            throws Exception {
+        return write(product, encodings, null, acceptEncoding);
+    }
+
+    private MockHttpServletResponse write(ProductResponse product, AtomicInteger encodings, String accept,
+                                          String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+        if (accept != null) {
+            request.addHeader("Accept", accept);
+        }
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.writeOk(product, () -> {
+            encodings.incrementAndGet();
+            return ApiResponse.success("ok", product);
+        }, CacheControl.noCache(), request, response);
+        return response;
+    }
+
+    private static ProductResponse product(String name) {
+        return ProductResponse.builder().id(1L).name(name).build();
+    }
+}
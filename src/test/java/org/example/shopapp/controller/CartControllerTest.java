@@ -0,0 +1,116 @@
+package org.example.shopapp.controller;
+
+import org.example.shopapp.auth.repository.UserRepository;
+import org.example.shopapp.cart.repository.CartRepository;
+import org.example.shopapp.common.entity.Cart;
+import org.example.shopapp.common.entity.Category;
+import org.example.shopapp.common.entity.Product;
+import org.example.shopapp.common.entity.User;
+import org.example.shopapp.product.repository.CategoryRepository;
+import org.example.shopapp.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CartControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private RequestPostProcessor shopper;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        String name = "shopper" + System.nanoTime();
+        User user = userRepository.save(User.builder()
+                .username(name)
+                .email(name + "@example.com")
+                .password("not-used")
+                .build());
+        cartRepository.save(Cart.builder()
+                .user(user)
+                .cartItems(new ArrayList<>())
+                .build());
+        shopper = authentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        Category category = categoryRepository.save(Category.builder()
+                .name("Cart category " + System.nanoTime())
+                .description("Conditional GET test")
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Cart product")
+                .description("Conditional GET test")
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .category(category)
+                .build());
+    }
+
+    @Test
+    void getCurrentUserCart_ShouldAnswer304_UntilCartChanges() throws Exception {
+        // Given
+        addToCart(1);
+        MvcResult first = mockMvc.perform(get("/api/cart").with(shopper))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        // Then: unchanged
+        mockMvc.perform(get("/api/cart").with(shopper).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // When
+        addToCart(2);
+
+        // Then
+        MvcResult changed = mockMvc.perform(get("/api/cart").with(shopper).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.cartItems[0].quantity").value(3))
+                .andReturn();
+        assertNotEquals(eTag, changed.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    private void addToCart(int quantity) throws Exception {
+        mockMvc.perform(post("/api/cart/add").with(shopper)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productId\":" + product.getId() + ",\"quantity\":" + quantity + "}"))
+                .andExpect(status().isOk());
+    }
+}
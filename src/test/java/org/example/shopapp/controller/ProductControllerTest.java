@@ -0,0 +1,148 @@
+package org.example.shopapp.controller;
+
+import org.example.shopapp.common.entity.Category;
+import org.example.shopapp.common.entity.Product;
+import org.example.shopapp.product.repository.CategoryRepository;
+import org.example.shopapp.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder()
+                .name("Conditional category " + System.nanoTime())
+                .description("Conditional GET test")
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Conditional product")
+                .description("Conditional GET test")
+                .price(BigDecimal.TEN)
+                .stock(10)
+                .category(category)
+                .build());
+    }
+
+    @Test
+    void getProductById_ShouldAnswer304_UntilProductChanges() throws Exception {
+        // Given
+        String eTag = eTagOf(mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        // Then: unchanged
+        mockMvc.perform(get("/api/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // When
+        product.setPrice(new BigDecimal("12.50"));
+        productRepository.save(product);
+
+        // Then
+        MvcResult changed = mockMvc.perform(get("/api/products/{id}", product.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.price").value(12.5))
+                .andReturn();
+        assertNotEquals(eTag, eTagOf(changed));
+    }
+
+    @Test
+    void getProductById_ShouldReloadCachedProduct_WhenDatabaseHasNewerVersion() throws Exception {
+        // Given: the product is cached here
+        String eTag = eTagOf(mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        // When: another instance renames it, so this node's cache hears nothing
+        jdbcTemplate.update("UPDATE products SET name = ?, updated_at = ? WHERE id = ?",
+                "Renamed elsewhere", LocalDateTime.now().plusSeconds(1), product.getId());
+
+        // Then: the new ETag goes out with the new body, never with the cached one
+        MvcResult changed = mockMvc.perform(get("/api/products/{id}", product.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Renamed elsewhere"))
+                .andReturn();
+        String newETag = eTagOf(changed);
+        assertNotEquals(eTag, newETag);
+        mockMvc.perform(get("/api/products/{id}", product.getId()).header(HttpHeaders.IF_NONE_MATCH, newETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getProductsByCategory_ShouldAnswer304_UntilCatalogChanges() throws Exception {
+        // Given
+        String path = "/api/products/category/" + category.getId();
+        String eTag = eTagOf(mockMvc.perform(get(path)).andExpect(status().isOk()).andReturn());
+
+        // Then: unchanged
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // When
+        product.setName("Renamed product");
+        productRepository.save(product);
+
+        // Then: the stale page keeps its old ETag until its background refresh lands
+        MvcResult changed = awaitModified(path, eTag);
+        assertNotEquals(eTag, eTagOf(changed));
+    }
+
+    private MvcResult awaitModified(String path, String eTag) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (true) {
+            MvcResult result = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag)).andReturn();
+            if (result.getResponse().getStatus() == 200 || System.nanoTime() > deadline) {
+                assertEquals(200, result.getResponse().getStatus());
+                return result;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static String eTagOf(MvcResult result) {
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+}
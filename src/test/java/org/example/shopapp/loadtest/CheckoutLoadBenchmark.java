@@ -0,0 +1,225 @@
+package org.example.shopapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.shopapp.ShopAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Drives a browse-to-checkout traffic mix against a locally booted application at a
+ * fixed arrival rate and reports throughput, p50/p99/p99.9 latency and error rates per
+ * endpoint. Run from the IDE or with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.example.shopapp.loadtest.CheckoutLoadBenchmark \
+ *     -Dload.rate=200 -Dload.seconds=60
+ * </pre>
+ * The app runs on an in-memory H2 database by default; {@code -Dload.db=file} uses a
+ * file database under {@code target/} instead, which is closer to production I/O.
+ * {@code -Dload.dataset=seed} starts the app with the {@code seed} profile and drives
+ * the bulk-loaded catalog and customers (sizes via {@code -Dseed.products=...} etc.)
+ * instead of the small built-in data set.
+ * Arrivals are split between anonymous catalog reads (browse, search, product detail)
+ * and customer sessions (add to cart, checkout with payment, order history). A session
+ * runs one action at a time, so arrivals finding every customer busy are reported as
+ * dropped rather than queued.
+ */
+public class CheckoutLoadBenchmark {
+
+    private static final Map<Action, Integer> MIX = Map.of(
+            Action.BROWSE, 30,
+            Action.SEARCH, 15,
+            Action.PRODUCT_DETAIL, 25,
+            Action.ADD_TO_CART, 12,
+            Action.CHECKOUT, 8,
+            Action.ORDER_HISTORY, 10);
+
+    enum Action {
+        BROWSE, SEARCH, PRODUCT_DETAIL, ADD_TO_CART, CHECKOUT, ORDER_HISTORY
+    }
+
+    public static void main(String[] args) throws Exception {
+        run(args, List.of(), context -> {
+        });
+    }
+
+    /**
+     * Boots the application with the given extra profiles, runs the warm-up and the
+     * measured phase and prints the report; {@code afterRun} can add to the report
+     * before the application is shut down.
+     */
+    static void run(String[] args, List<String> profiles, Consumer<ConfigurableApplicationContext> afterRun)
+            throws Exception {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "100"));
+        int seconds = Integer.getInteger("load.seconds", 30);
+        int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+        int customerCount = Integer.getInteger("load.customers", 200);
+        int productCount = Integer.getInteger("load.products", 2_000);
+        int maxInFlight = Integer.getInteger("load.max-in-flight", 2_000);
+
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--rate-limit.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+        if ("file".equals(System.getProperty("load.db"))) {
+            arguments.add("--spring.datasource.url=jdbc:h2:file:./target/loadtest-db;DB_CLOSE_ON_EXIT=FALSE");
+            arguments.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+        }
+        boolean seeded = "seed".equals(System.getProperty("load.dataset"));
+        List<String> activeProfiles = new ArrayList<>(profiles);
+        if (seeded) {
+            activeProfiles.add("seed");
+        }
+        arguments.addAll(List.of(args));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShopAppApplication.class)
+                .profiles(activeProfiles.toArray(new String[0]))
+                .run(arguments.toArray(new String[0]));
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            List<Long> productIds;
+            List<String> usernames;
+            String password;
+            if (seeded) {
+                productIds = LoadTestData.activeProductIds(context);
+                usernames = LoadTestData.existingCustomers(context, customerCount);
+                password = context.getEnvironment().getProperty("seed.user-password");
+            } else {
+                System.out.printf("Seeding %d products and %d customers...%n", productCount, customerCount);
+                productIds = LoadTestData.seedCatalog(context, 20, productCount);
+                usernames = LoadTestData.seedCustomers(context, customerCount);
+                password = LoadTestData.PASSWORD;
+            }
+
+            LatencyRecorder warmupRecorder = new LatencyRecorder();
+            Queue<String> idleSessions = new ConcurrentLinkedQueue<>();
+            ShopLoadClient loginClient = new ShopLoadClient(baseUrl, warmupRecorder, Duration.ofSeconds(30));
+            for (String username : usernames) {
+                idleSessions.add(loginClient.login(username, password));
+            }
+
+            FixedRateLoadDriver driver = new FixedRateLoadDriver(rate, maxInFlight);
+            if (warmupSeconds > 0) {
+                System.out.printf("Warming up at %.0f req/s (%ds)...%n", rate, warmupSeconds);
+                Scenario warmup = new Scenario(new ShopLoadClient(baseUrl, warmupRecorder, Duration.ofSeconds(30)),
+                        productIds, idleSessions);
+                driver.run(Duration.ofSeconds(warmupSeconds), warmup::arrive);
+            }
+
+            System.out.printf("Measuring at %.0f req/s (%ds)...%n", rate, seconds);
+            LatencyRecorder recorder = new LatencyRecorder();
+            Scenario scenario = new Scenario(new ShopLoadClient(baseUrl, recorder, Duration.ofSeconds(30)),
+                    productIds, idleSessions);
+            long started = System.nanoTime();
+            long dropped = driver.run(Duration.ofSeconds(seconds), scenario::arrive);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            System.out.println();
+            recorder.printReport(System.out, elapsed);
+            System.out.printf("%nArrivals dropped: %d at the in-flight limit, %d with no idle customer%n",
+                    dropped, scenario.noIdleSession.sum());
+            afterRun.accept(context);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static final class Scenario {
+
+        private final ShopLoadClient client;
+        private final List<Long> productIds;
+        private final Queue<String> idleSessions;
+        private final Action[] weightedActions;
+        private final LongAdder noIdleSession = new LongAdder();
+
+        private Scenario(ShopLoadClient client, List<Long> productIds, Queue<String> idleSessions) {
+            this.client = client;
+            this.productIds = productIds;
+            this.idleSessions = idleSessions;
+            List<Action> actions = new ArrayList<>();
+            MIX.forEach((action, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    actions.add(action);
+                }
+            });
+            this.weightedActions = actions.toArray(new Action[0]);
+        }
+
+        private void arrive(long intendedStart) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Action action = weightedActions[random.nextInt(weightedActions.length)];
+            switch (action) {
+                case BROWSE -> client.get("GET /api/products", "/api/products?page=" + random.nextInt(20) + "&size=20",
+                        null, intendedStart);
+                case SEARCH -> client.get("GET /api/products/search", "/api/products/search?keyword="
+                        + LoadTestData.WORDS[random.nextInt(LoadTestData.WORDS.length)], null, intendedStart);
+                case PRODUCT_DETAIL -> client.get("GET /api/products/{id}", "/api/products/" + randomProduct(), null,
+                        intendedStart);
+                default -> runAsCustomer(action, intendedStart);
+            }
+        }
+
+        private void runAsCustomer(Action action, long intendedStart) {
+            String session = idleSessions.poll();
+            if (session == null) {
+                noIdleSession.increment();
+                return;
+            }
+            try {
+                switch (action) {
+                    case ADD_TO_CART -> addToCart(session, intendedStart);
+                    case CHECKOUT -> checkout(session, intendedStart);
+                    case ORDER_HISTORY -> client.get("GET /api/orders", "/api/orders?page=0&size=10", session,
+                            intendedStart);
+                    default -> throw new IllegalStateException("Not a customer action: " + action);
+                }
+            } finally {
+                idleSessions.add(session);
+            }
+        }
+
+        private JsonNode addToCart(String session, long startNanos) {
+            return client.post("POST /api/cart/add", "/api/cart/add",
+                    Map.of("productId", randomProduct(), "quantity", 1 + ThreadLocalRandom.current().nextInt(2)),
+                    session, startNanos);
+        }
+
+        private void checkout(String session, long intendedStart) {
+            // Later steps are timed from when they are sent; only the first one waited to start
+            int items = 1 + ThreadLocalRandom.current().nextInt(3);
+            for (int i = 0; i < items; i++) {
+                if (addToCart(session, i == 0 ? intendedStart : System.nanoTime()) == null) {
+                    return;
+                }
+            }
+            JsonNode order = client.post("POST /api/orders", "/api/orders",
+                    Map.of("shippingAddress", "1 Load Test Street", "billingAddress", "1 Load Test Street"),
+                    session, System.nanoTime());
+            if (order == null) {
+                return;
+            }
+            client.post("POST /api/payments", "/api/payments",
+                    Map.of("orderId", order.path("id").asLong(), "paymentMethod", "CREDIT_CARD",
+                            "cardNumber", "4111111111111111", "expiryDate", "12/30", "cvv", "123",
+                            "cardholderName", "Load Test"),
+                    session, System.nanoTime());
+        }
+
+        private long randomProduct() {
+            return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.shopapp.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-model load: starts tasks at a fixed arrival rate, each on its own virtual thread,
+ * whether or not earlier ones have finished. Tasks receive their intended start time so
+ * latency can be measured from it, which keeps a stalled server from hiding its own
+ * queueing delay (coordinated omission).
+ */
+public class FixedRateLoadDriver {
+
+    private final double ratePerSecond;
+    private final int maxInFlight;
+
+    public FixedRateLoadDriver(double ratePerSecond, int maxInFlight) {
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * @return the number of arrivals dropped because {@code maxInFlight} tasks were
+     *         still running
+     */
+    public long run(Duration duration, LongConsumer task) {
+        long intervalNanos = (long) (1e9 / ratePerSecond);
+        long arrivals = duration.toNanos() / intervalNanos;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long dropped = 0;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < arrivals; i++) {
+                long intendedStart = start + i * intervalNanos;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!inFlight.tryAcquire()) {
+                    dropped++;
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        task.accept(intendedStart);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return dropped;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.shopapp.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint HDR latency histograms and error counts, safe to record into from any
+ * number of threads.
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.latencies.recordValue(Math.min(Math.max(latencyNanos, 1), HIGHEST_TRACKABLE_NANOS));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    public long totalCount() {
+        return endpoints.values().stream().mapToLong(stats -> stats.latencies.getTotalCount()).sum();
+    }
+
+    /**
+     * Prints one line per endpoint plus a total, with throughput over {@code elapsed}.
+     */
+    public void printReport(PrintStream out, Duration elapsed) {
+        double seconds = Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        out.printf("%-32s %9s %9s %7s %9s %9s %9s %9s%n",
+                "Endpoint (latency in ms)", "requests", "req/s", "errors", "p50", "p99", "p99.9", "max");
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram latencies = entry.getValue().latencies.copy();
+            long errors = entry.getValue().errors.sum();
+            printLine(out, entry.getKey(), latencies, errors, seconds);
+            total.add(latencies);
+            totalErrors += errors;
+        }
+        printLine(out, "TOTAL", total, totalErrors, seconds);
+    }
+
+    private static void printLine(PrintStream out, String label, Histogram latencies, long errors, double seconds) {
+        long count = latencies.getTotalCount();
+        if (count == 0) {
+            out.printf("%-32s %9d%n", label, 0);
+            return;
+        }
+        out.printf("%-32s %9d %9.1f %6.2f%% %9.2f %9.2f %9.2f %9.2f%n", label, count, count / seconds,
+                100.0 * errors / count,
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Endpoint {
+
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
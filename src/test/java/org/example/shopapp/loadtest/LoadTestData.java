@@ -0,0 +1,83 @@
+package org.example.shopapp.loadtest;
+
+import org.example.shopapp.auth.repository.UserRepository;
+import org.example.shopapp.common.entity.Category;
+import org.example.shopapp.common.entity.Product;
+import org.example.shopapp.common.entity.User;
+import org.example.shopapp.product.repository.CategoryRepository;
+import org.example.shopapp.product.repository.ProductRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic catalog and customers for the load generators, written through the
+ * repositories of a running application, or looked up when the {@code seed} profile has
+ * already bulk-loaded them.
+ */
+final class LoadTestData {
+
+    static final String PASSWORD = "load-test-password";
+
+    static final String[] WORDS = {
+            "wireless", "headphones", "laptop", "stand", "coffee", "grinder", "running", "shoes",
+            "desk", "lamp", "backpack", "water", "bottle", "keyboard", "mouse", "monitor",
+            "garden", "hose", "yoga", "mat", "phone", "case", "charger", "cable"};
+
+    private LoadTestData() {
+    }
+
+    static List<Long> seedCatalog(ConfigurableApplicationContext context, int categoryCount, int productCount) {
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(categoryRepository.save(Category.builder()
+                    .name("Load category " + i)
+                    .description("Category seeded by the load generator")
+                    .build()));
+        }
+        List<Product> products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            products.add(Product.builder()
+                    .name(WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length + 7) % WORDS.length] + " " + i)
+                    .description("Product seeded by the load generator")
+                    .price(BigDecimal.valueOf(500 + (i * 37L) % 20_000, 2))
+                    .stock(1_000_000)
+                    .category(categories.get(i % categories.size()))
+                    .build());
+        }
+        return productRepository.saveAll(products).stream().map(Product::getId).toList();
+    }
+
+    /**
+     * Customers named {@code load-user-N} sharing {@link #PASSWORD}, hashed once since
+     * BCrypt per user would dominate start-up.
+     */
+    static List<String> seedCustomers(ConfigurableApplicationContext context, int count) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .username("load-user-" + i)
+                    .email("load-user-" + i + "@example.org")
+                    .password(passwordHash)
+                    .build());
+        }
+        return userRepository.saveAll(users).stream().map(User::getUsername).toList();
+    }
+
+    static List<Long> activeProductIds(ConfigurableApplicationContext context) {
+        return context.getBean(JdbcTemplate.class).queryForList("SELECT id FROM products WHERE is_active = TRUE", Long.class);
+    }
+
+    static List<String> existingCustomers(ConfigurableApplicationContext context, int count) {
+        return context.getBean(JdbcTemplate.class).queryForList(
+                "SELECT username FROM users WHERE role = 'CUSTOMER' ORDER BY id FETCH FIRST " + count + " ROWS ONLY", String.class);
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.shopapp.loadtest;
+
+import org.example.shopapp.ShopAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures login throughput next to catalog latency while {@code /api/auth/login}
+ * is flooded with bad credentials. Run from the IDE or with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.example.shopapp.loadtest.LoginAttackBenchmark \
+ *     -Dbench.attackers=64 -Dbench.seconds=20
+ * </pre>
+ * By default the per-IP failure limit is lifted so every attempt reaches BCrypt and the
+ * bounded executor is what protects the catalog; pass {@code -Dbench.shedding=true} to
+ * keep the failed-attempt counters on as well.
+ */
+public class LoginAttackBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int attackers = Integer.getInteger("bench.attackers", 64);
+        int seconds = Integer.getInteger("bench.seconds", 20);
+        boolean shedding = Boolean.getBoolean("bench.shedding");
+
+        // Passed as command line arguments so they override application.properties
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--rate-limit.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+        if (!shedding) {
+            arguments.add("--login-protection.max-failures-per-ip=" + Integer.MAX_VALUE);
+        }
+        arguments.addAll(List.of(args));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ShopAppApplication.class)
+                .run(arguments.toArray(new String[0]));
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            List<Long> productIds = LoadTestData.seedCatalog(context, 1, 200);
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+
+            System.out.printf("Warming up and measuring catalog latency without attack (%ds)...%n", seconds);
+            LatencyRecorder baseline = probeCatalog(client, baseUrl, productIds, Duration.ofSeconds(seconds));
+
+            System.out.printf("Measuring catalog latency with %d login attackers (%ds)...%n", attackers, seconds);
+            Map<Integer, LongAdder> loginStatuses = new ConcurrentHashMap<>();
+            AtomicBoolean running = new AtomicBoolean(true);
+            ExecutorService attackPool = Executors.newVirtualThreadPerTaskExecutor();
+            for (int i = 0; i < attackers; i++) {
+                attackPool.submit(() -> attack(client, baseUrl, running, loginStatuses));
+            }
+            LatencyRecorder underAttack = probeCatalog(client, baseUrl, productIds, Duration.ofSeconds(seconds));
+            running.set(false);
+            attackPool.shutdown();
+
+            System.out.println();
+            System.out.println("Catalog without attack:");
+            baseline.printReport(System.out, Duration.ofSeconds(seconds));
+            System.out.println();
+            System.out.println("Catalog under attack:");
+            underAttack.printReport(System.out, Duration.ofSeconds(seconds));
+            System.out.println();
+            long totalLogins = loginStatuses.values().stream().mapToLong(LongAdder::sum).sum();
+            System.out.printf("Login attempts: %d (%.1f/s)%n", totalLogins, totalLogins / (double) seconds);
+            loginStatuses.forEach((status, count) -> System.out.printf("  HTTP %d: %d%n", status, count.sum()));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static LatencyRecorder probeCatalog(HttpClient client, String baseUrl, List<Long> productIds, Duration duration) {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            boolean listing = ThreadLocalRandom.current().nextBoolean();
+            String path = listing
+                    ? "/api/products?page=0&size=20"
+                    : "/api/products/" + productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+            } catch (Exception e) {
+                success = false;
+            }
+            recorder.record(listing ? "GET /api/products" : "GET /api/products/{id}", System.nanoTime() - start, success);
+        }
+        return recorder;
+    }
+
+    private static void attack(HttpClient client, String baseUrl, AtomicBoolean running, Map<Integer, LongAdder> statuses) {
+        while (running.get()) {
+            String body = "{\"usernameOrEmail\":\"user" + ThreadLocalRandom.current().nextInt(1_000_000)
+                    + "\",\"password\":\"not-the-password\"}";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            } catch (Exception e) {
+                statuses.computeIfAbsent(-1, s -> new LongAdder()).increment();
+            }
+        }
+    }
+}
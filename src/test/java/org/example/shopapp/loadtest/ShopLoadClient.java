@@ -0,0 +1,104 @@
+package org.example.shopapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.shopapp.common.security.CookieUtil;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP client for the load generators. Every call is recorded in a {@link LatencyRecorder}
+ * under its endpoint name; 2xx responses count as successes.
+ */
+class ShopLoadClient {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private final Duration timeout;
+
+    ShopLoadClient(String baseUrl, LatencyRecorder recorder, Duration timeout) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Logs in and returns the access token cookie to send with later requests. The
+     * application marks its cookies Secure, so they are lifted from Set-Cookie by hand
+     * instead of going through a cookie manager over plain HTTP.
+     */
+    String login(String username, String password) throws Exception {
+        String body = OBJECT_MAPPER.writeValueAsString(Map.of("usernameOrEmail", username, "password", password));
+        HttpResponse<String> response = client.send(request("/api/auth/login", null)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + username + ": HTTP " + response.statusCode());
+        }
+        return accessTokenCookie(response.headers());
+    }
+
+    JsonNode get(String endpoint, String path, String cookie, long startNanos) {
+        return send(endpoint, request(path, cookie).GET().build(), startNanos);
+    }
+
+    JsonNode post(String endpoint, String path, Object body, String cookie, long startNanos) {
+        try {
+            return send(endpoint, request(path, cookie)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(OBJECT_MAPPER.writeValueAsString(body)))
+                    .build(), startNanos);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * @return the {@code data} node of the response, or null when the call failed
+     */
+    private JsonNode send(String endpoint, HttpRequest request, long startNanos) {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean success = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - startNanos, success);
+            return success ? OBJECT_MAPPER.readTree(response.body()).path("data") : null;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            recorder.record(endpoint, System.nanoTime() - startNanos, false);
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String cookie) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder;
+    }
+
+    private static String accessTokenCookie(HttpHeaders headers) {
+        return headers.allValues("Set-Cookie").stream()
+                .filter(header -> header.startsWith(CookieUtil.ACCESS_TOKEN_COOKIE + "="))
+                .map(header -> header.substring(0, header.indexOf(';') < 0 ? header.length() : header.indexOf(';')))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Login response carried no access token cookie"));
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.shopapp.loadtest;
+
+import org.example.shopapp.common.diagnostics.PinningReport;
+import org.example.shopapp.common.diagnostics.VirtualThreadPinningMonitor;
+
+import java.util.List;
+
+/**
+ * Runs {@link CheckoutLoadBenchmark} twice, first on Tomcat's platform thread pool and
+ * then with the {@code virtual-threads} profile, and prints where virtual threads were
+ * pinned during the second run. Takes the same {@code -Dload.*} settings:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.example.shopapp.loadtest.ThreadModeComparison \
+ *     -Dload.rate=200 -Dload.seconds=60
+ * </pre>
+ * Checkout includes the simulated one-second payment gateway call, so at high arrival
+ * rates the platform run is bounded by Tomcat's 200 worker threads while the virtual
+ * run is bounded by the connection pool. Both runs share one JVM, so the second one
+ * starts with warmer JIT-compiled code; use a warm-up phase long enough to even that out.
+ */
+public class ThreadModeComparison {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Platform threads ===");
+        CheckoutLoadBenchmark.run(args, List.of(), context -> {
+        });
+
+        System.out.println();
+        System.out.println("=== Virtual threads ===");
+        CheckoutLoadBenchmark.run(args, List.of("virtual-threads"), context -> {
+            PinningReport report = context.getBean(VirtualThreadPinningMonitor.class).report();
+            System.out.printf("%nPinned virtual threads: %d events, %.1f ms in total%n",
+                    report.events(), report.pinnedMillis());
+            for (PinningReport.Site site : report.sites()) {
+                System.out.printf("  %6d  %10.1f ms  max %8.1f ms  %s%n",
+                        site.events(), site.pinnedMillis(), site.maxMillis(), site.frame());
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.shopapp.product.cache;
+
+import org.example.shopapp.common.catalog.CategoryChangedEvent;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.product.dto.response.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private ProductCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCache(100, Duration.ofMinutes(10), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void getAllPresent_ShouldReturnOnlyCachedProducts() {
+        // Given
+        cache.putAll(Map.of(1L, product(1L), 2L, product(2L)), cache.generation());
+
+        // When
+        Map<Long, ProductResponse> present = cache.getAllPresent(List.of(1L, 2L, 3L));
+
+        // Then
+        assertEquals(2, present.size());
+        assertFalse(present.containsKey(3L));
+    }
+
+    @Test
+    void onProductChanged_ShouldEvictProduct_AndDiscardLoadsStartedBefore() {
+        // Given
+        cache.putAll(Map.of(1L, product(1L), 2L, product(2L)), cache.generation());
+        long loadStartedAt = cache.generation();
+
+        // When
+        cache.onProductChanged(new ProductChangedEvent(1L, null));
+        cache.putAll(Map.of(1L, product(1L)), loadStartedAt);
+
+        // Then
+        assertEquals(List.of(2L), List.copyOf(cache.getAllPresent(List.of(1L, 2L)).keySet()));
+    }
+
+    @Test
+    void onCategoryChanged_ShouldEvictEverything() {
+        // Given
+        cache.putAll(Map.of(1L, product(1L), 2L, product(2L)), cache.generation());
+
+        // When
+        cache.onCategoryChanged(new CategoryChangedEvent(7L, null));
+
+        // Then
+        assertTrue(cache.getAllPresent(List.of(1L, 2L)).isEmpty());
+    }
+
+    private ProductResponse product(Long id) {
+        return ProductResponse.builder().id(id).name("Product " + id).build();
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.shopapp.product.cache;
+
+import org.example.shopapp.common.catalog.CatalogVersion;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.example.shopapp.product.dto.response.ProductResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProductListingCacheTest {
+
+    private static final ProductListingCache.ListingKey ELECTRONICS =
+            ProductListingCache.ListingKey.of(1L, PageRequest.of(0, 10));
+    private static final ProductListingCache.ListingKey BOOKS =
+            ProductListingCache.ListingKey.of(2L, PageRequest.of(0, 10));
+
+    private ProductListingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductListingCache(new CatalogVersion(), mock(PlatformTransactionManager.class),
+                100, Duration.ofMinutes(1), Duration.ofMinutes(5), 1, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.destroy();
+    }
+
+    @Test
+    void get_ShouldServeCachedPage_WhileFresh() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Page<ProductResponse>> loader = () -> page("v" + loads.incrementAndGet());
+
+        // When
+        cache.get(ELECTRONICS, loader);
+        ProductListingCache.Listing second = cache.get(ELECTRONICS, loader);
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals("v1", second.products().getContent().getFirst().getName());
+    }
+
+    @Test
+    void onProductChanged_ShouldServeStalePage_WhileOneRefreshReplacesIt() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Page<ProductResponse>> loader = () -> page("v" + loads.incrementAndGet());
+        cache.get(ELECTRONICS, loader);
+        cache.get(BOOKS, loader);
+
+        // When
+        cache.onProductChanged(new ProductChangedEvent(5L, document(5L, 1L)));
+        ProductListingCache.Listing stale = cache.get(ELECTRONICS, loader);
+
+        // Then
+        assertEquals("v1", stale.products().getContent().getFirst().getName());
+        awaitPage(ELECTRONICS, loader, "v3");
+        assertEquals("v2", cache.get(BOOKS, loader).products().getContent().getFirst().getName(),
+                "another category's page is untouched");
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_ShouldKeepServingStalePage_WhenRefreshFails() throws Exception {
+        // Given
+        cache.get(ELECTRONICS, () -> page("cached"));
+        cache.onProductChanged(new ProductChangedEvent(5L, document(5L, 1L)));
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<Page<ProductResponse>> failing = () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        };
+
+        // When
+        assertEquals("cached", cache.get(ELECTRONICS, failing).products().getContent().getFirst().getName());
+        while (attempts.get() == 0) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+
+        // Then: still served, and not retried before fresh-for has passed again
+        assertEquals("cached", cache.get(ELECTRONICS, failing).products().getContent().getFirst().getName());
+        Thread.sleep(50);
+        assertEquals(1, attempts.get());
+    }
+
+    private void awaitPage(ProductListingCache.ListingKey key, Supplier<Page<ProductResponse>> loader, String name)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!name.equals(cache.get(key, loader).products().getContent().getFirst().getName())) {
+            assertTrue(System.nanoTime() < deadline, "refresh did not complete");
+            Thread.sleep(5);
+        }
+    }
+
+    private static Page<ProductResponse> page(String name) {
+        return new PageImpl<>(List.of(ProductResponse.builder().id(5L).name(name).build()));
+    }
+
+    private static ProductDocument document(Long id, Long categoryId) {
+        return new ProductDocument(id, "Phone", categoryId, BigDecimal.TEN, 3, true);
+    }
+}
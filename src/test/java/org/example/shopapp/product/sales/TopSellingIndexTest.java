@@ -0,0 +1,112 @@
+package org.example.shopapp.product.sales;
+
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.example.shopapp.common.entity.ProductSales;
+import org.example.shopapp.order.repository.OrderItemRepository;
+import org.example.shopapp.product.repository.ProductSalesRepository;
+import org.example.shopapp.product.search.ProductSuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TopSellingIndexTest {
+
+    @Mock
+    private ProductSalesRepository productSalesRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private ProductSuggestionIndex productSuggestionIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductSalesTracker tracker;
+    private TopSellingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ProductSalesTracker(productSalesRepository, orderItemRepository,
+                productSuggestionIndex, transactionManager);
+        index = new TopSellingIndex(tracker, 2);
+        index.rebuild(List.of(
+                product(1L, 10L, true),
+                product(2L, 10L, true),
+                product(3L, 20L, true),
+                product(4L, 20L, false)), List.of());
+    }
+
+    @Test
+    void top_ShouldRankOverallAndPerCategory_KeepingOnlyTopK() {
+        // Given
+        tracker.record(Map.of(1L, 5, 2L, 9, 3L, 7, 4L, 100));
+
+        // When
+        index.refresh();
+
+        // Then
+        assertEquals(List.of(new TopSellingIndex.TopSeller(2L, 9), new TopSellingIndex.TopSeller(3L, 7)),
+                index.top(null, 10));
+        assertEquals(List.of(2L, 1L), index.top(10L, 10).stream().map(TopSellingIndex.TopSeller::productId).toList());
+        assertEquals(1, index.top(10L, 1).size());
+        assertTrue(index.top(99L, 10).isEmpty());
+    }
+
+    @Test
+    void refresh_ShouldApplyCancellationsAndDeactivations() {
+        // Given
+        tracker.record(Map.of(1L, 5, 2L, 9, 3L, 7));
+        tracker.record(Map.of(2L, -6));
+        index.apply(new ProductChangedEvent(3L, product(3L, 20L, false)));
+
+        // When
+        index.refresh();
+
+        // Then
+        assertEquals(List.of(1L, 2L), index.top(null, 10).stream().map(TopSellingIndex.TopSeller::productId).toList());
+    }
+
+    @Test
+    void flush_ShouldWriteOnlyDeltasSinceLastFlush() {
+        // Given
+        when(productSalesRepository.findAllById(anyIterable())).thenReturn(List.of(
+                ProductSales.builder().productId(1L).unitsSold(40L).build()));
+        tracker.record(Map.of(1L, 5, 2L, 3));
+
+        // When
+        tracker.flush();
+        tracker.flush();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProductSales>> saved = ArgumentCaptor.forClass(List.class);
+        verify(productSalesRepository, times(1)).saveAll(saved.capture());
+        Map<Long, Long> unitsById = saved.getValue().stream()
+                .collect(Collectors.toMap(ProductSales::getProductId, ProductSales::getUnitsSold));
+        assertEquals(Map.of(1L, 45L, 2L, 3L), unitsById);
+        verify(productSuggestionIndex).updateProductPopularity(1L, 5L);
+        verify(transactionManager).commit(any());
+    }
+
+    private ProductDocument product(Long id, Long categoryId, boolean active) {
+        return new ProductDocument(id, "Product " + id, categoryId, BigDecimal.TEN, 5, active);
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.shopapp.product.search;
+
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.example.shopapp.product.dto.response.ProductFilterResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFilterIndexTest {
+
+    private ProductFilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFilterIndex(new int[]{25, 100});
+        index.rebuild(List.of(
+                product(1L, 10L, "10.00", 5, true),
+                product(2L, 10L, "50.00", 0, true),
+                product(3L, 20L, "150.00", 3, true),
+                product(4L, 20L, "20.00", 1, true),
+                product(5L, 10L, "30.00", 2, false)), List.of());
+    }
+
+    @Test
+    void filter_ShouldIntersectFilters_AndCountFacetsWithoutTheirOwnFilter() {
+        // When
+        ProductFilterResponse result = index.filter(List.of(10L), List.of(), true, 0, 10);
+
+        // Then
+        assertEquals(List.of(1L), result.getIds());
+        assertEquals(1, result.getTotalElements());
+        assertEquals(Map.of(10L, 1, 20L, 2), result.getCategoryCounts());
+        assertEquals(1, result.getPriceBucketCounts().get("0-25"));
+        assertEquals(0, result.getPriceBucketCounts().get("25-100"));
+        assertEquals(1, result.getInStockCount());
+    }
+
+    @Test
+    void filter_ShouldPaginateIdsInAscendingOrder() {
+        // When
+        ProductFilterResponse result = index.filter(List.of(), List.of(), false, 1, 2);
+
+        // Then
+        assertEquals(List.of(3L, 4L), result.getIds());
+        assertEquals(4, result.getTotalElements());
+        assertEquals(2, result.getTotalPages());
+    }
+
+    @Test
+    void apply_ShouldMoveProductBetweenBitmaps_AndDropDeactivated() {
+        // When
+        index.apply(new ProductChangedEvent(1L, product(1L, 20L, "200.00", 0, true)));
+        index.apply(new ProductChangedEvent(3L, product(3L, 20L, "150.00", 3, false)));
+
+        // Then
+        ProductFilterResponse result = index.filter(List.of(20L), List.of("100+"), false, 0, 10);
+        assertEquals(List.of(1L), result.getIds());
+        assertEquals(0, result.getInStockCount());
+    }
+
+    @Test
+    void filter_ShouldRejectUnknownPriceBucket() {
+        assertThrows(IllegalArgumentException.class,
+                () -> index.filter(List.of(), List.of("1-2"), false, 0, 10));
+    }
+
+    @Test
+    void filter_ShouldRejectPageSizeAboveMaximum() {
+        assertThrows(IllegalArgumentException.class,
+                () -> index.filter(List.of(), List.of(), false, 0, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.filter(List.of(), List.of(), false, -1, 10));
+        assertEquals(4, index.filter(List.of(), List.of(), false, 0, ProductFilterIndex.MAX_PAGE_SIZE).getIds().size());
+    }
+
+    private ProductDocument product(Long id, Long categoryId, String price, int stock, boolean active) {
+        return new ProductDocument(id, "Product " + id, categoryId, new BigDecimal(price), stock, active);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.shopapp.product.search;
+
+import org.example.shopapp.common.catalog.CategoryChangedEvent;
+import org.example.shopapp.common.catalog.CategoryDocument;
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.example.shopapp.product.dto.response.ProductSuggestionResponse;
+import org.example.shopapp.product.sales.ProductSalesTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductSuggestionIndexTest {
+
+    private ProductSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ProductSalesTracker productSalesTracker = mock(ProductSalesTracker.class);
+        when(productSalesTracker.unitsSoldByProduct()).thenReturn(Map.of());
+        index = new ProductSuggestionIndex(productSalesTracker, 3, 24);
+        index.rebuild(List.of(
+                product(1L, "Apple iPhone 15", 1L),
+                product(2L, "Apple Watch", 1L),
+                product(3L, "Crème Brûlée Torch", 2L)),
+                List.of(new CategoryDocument(1L, "Phones"), new CategoryDocument(2L, "Kitchen")));
+    }
+
+    @Test
+    void suggest_ShouldMatchAnyWordPrefix_IgnoringCaseAndAccents() {
+        assertEquals(List.of("Apple iPhone 15"), texts(index.suggest("IPHO", 10)));
+        assertEquals(List.of("Crème Brûlée Torch"), texts(index.suggest("brul", 10)));
+        assertEquals(List.of("Phones"), texts(index.suggest("phon", 10)));
+        assertTrue(index.suggest("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldRankByPopularity() {
+        // When
+        index.updateProductPopularity(2L, 50);
+
+        // Then
+        assertEquals(List.of("Apple Watch", "Apple iPhone 15"), texts(index.suggest("apple", 10)));
+    }
+
+    @Test
+    void apply_ShouldUpdateIncrementally_AndDropDeactivatedProducts() {
+        // When
+        index.apply(new ProductChangedEvent(1L, new ProductDocument(1L, "Pear Phone", 1L, BigDecimal.TEN, 1, true)));
+        index.apply(new ProductChangedEvent(2L, new ProductDocument(2L, "Apple Watch", 1L, BigDecimal.TEN, 1, false)));
+        index.apply(new CategoryChangedEvent(2L, new CategoryDocument(2L, "Cookware")));
+
+        // Then
+        assertTrue(index.suggest("apple", 10).isEmpty());
+        assertEquals(List.of("Pear Phone"), texts(index.suggest("pear", 10)));
+        assertEquals(List.of("Cookware"), texts(index.suggest("cook", 10)));
+        assertTrue(index.suggest("kitchen", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldKeepTopKCorrect_AfterNodesBurst() {
+        // Given
+        List<ProductDocument> products = new ArrayList<>();
+        for (long i = 1; i <= 500; i++) {
+            products.add(product(i, "Widget model " + i, 1L));
+        }
+        index.rebuild(products, List.of());
+        index.updateProductPopularity(250L, 10);
+        index.updateProductPopularity(499L, 5);
+
+        // When
+        index.apply(new ProductChangedEvent(250L, null));
+
+        // Then
+        List<String> suggestions = texts(index.suggest("widget mod", 3));
+        assertEquals("Widget model 499", suggestions.get(0));
+        assertEquals(3, suggestions.size());
+        assertEquals(List.of("Widget model 499"), texts(index.suggest("model 499", 3)));
+    }
+
+    private List<String> texts(List<ProductSuggestionResponse> suggestions) {
+        return suggestions.stream().map(ProductSuggestionResponse::getText).toList();
+    }
+
+    private ProductDocument product(Long id, String name, Long categoryId) {
+        return new ProductDocument(id, name, categoryId, BigDecimal.TEN, 5, true);
+    }
+}
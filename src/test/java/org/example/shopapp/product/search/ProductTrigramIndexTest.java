@@ -0,0 +1,102 @@
+package org.example.shopapp.product.search;
+
+import org.example.shopapp.common.catalog.ProductChangedEvent;
+import org.example.shopapp.common.catalog.ProductDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductTrigramIndexTest {
+
+    private ProductTrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductTrigramIndex(1000);
+        index.rebuild(List.of(
+                product(1L, "Wireless Headphones"),
+                product(2L, "Wireless Headphones Pro Max"),
+                product(3L, "Wired Keyboard"),
+                product(4L, "Mechanical Keyboard")), List.of());
+    }
+
+    @Test
+    void search_ShouldCorrectMisspelledWords_AndRankBySimilarity() {
+        // When
+        ProductTrigramIndex.FuzzyResult result = index.search("wireles headphnoes", 0, 10);
+
+        // Then
+        assertEquals("wireless headphones", result.correctedQuery());
+        assertEquals(List.of(1L, 2L), result.productIds());
+    }
+
+    @Test
+    void search_ShouldMatchAllWordsInAnyOrder_WithoutCorrection() {
+        // When
+        ProductTrigramIndex.FuzzyResult result = index.search("keyboard mechanical", 0, 10);
+
+        // Then
+        assertNull(result.correctedQuery());
+        assertEquals(List.of(4L), result.productIds());
+    }
+
+    @Test
+    void search_ShouldReturnNothing_WhenWordIsTooFarFromAnyTerm() {
+        assertTrue(index.search("blender", 0, 10).productIds().isEmpty());
+        assertTrue(index.search("xq", 0, 10).productIds().isEmpty());
+    }
+
+    @Test
+    void apply_ShouldKeepTermsInSync() {
+        // When
+        index.apply(new ProductChangedEvent(4L, null));
+        index.apply(new ProductChangedEvent(5L, product(5L, "Ergonomic Mouse")));
+
+        // Then
+        assertEquals(List.of(3L), index.search("keybord", 0, 10).productIds());
+        assertEquals("ergonomic mouse", index.search("ergonomc mouse", 0, 10).correctedQuery());
+    }
+
+    @Test
+    void search_ShouldCorrectTransposition_SharingFewTrigrams() {
+        // Given
+        index.apply(new ProductChangedEvent(6L, product(6L, "Phone Case")));
+
+        // When
+        ProductTrigramIndex.FuzzyResult result = index.search("phnoe case", 0, 10);
+
+        // Then
+        assertEquals("phone case", result.correctedQuery());
+        assertEquals(List.of(6L), result.productIds());
+    }
+
+    @Test
+    void search_ShouldKeepBestOverlappingCandidates_WhenCapped() {
+        // Given
+        ProductTrigramIndex capped = new ProductTrigramIndex(1);
+        capped.rebuild(List.of(
+                product(1L, "Keyboard Cover Sleeve Stand"),
+                product(2L, "Keyboard Wrist Rest Pad"),
+                product(3L, "Keyboard")), List.of());
+
+        // When
+        ProductTrigramIndex.FuzzyResult result = capped.search("keyboard", 0, 10);
+
+        // Then
+        assertEquals(List.of(3L), result.productIds());
+    }
+
+    @Test
+    void editDistance_ShouldCountTranspositionAsOneEdit() {
+        assertEquals(1, ProductTrigramIndex.editDistance("headphnoes", "headphones", 2));
+        assertEquals(3, ProductTrigramIndex.editDistance("abcdef", "uvwxyz", 2));
+    }
+
+    private ProductDocument product(Long id, String name) {
+        return new ProductDocument(id, name, 1L, BigDecimal.TEN, 5, true);
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.shopapp.product.trending;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingTrackerTest {
+
+    private static final long BUCKET_MILLIS = 60_000;
+
+    private TrendingTracker tracker;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new TrendingTracker(Duration.ofMinutes(5), 5, 4, 1024, 256, 3);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void refresh_ShouldRankHeavyHittersAmongManyProducts() {
+        // Given
+        for (long productId = 100; productId < 5_000; productId++) {
+            tracker.record(productId, TrendingTracker.Signal.VIEW);
+        }
+        record(1L, TrendingTracker.Signal.VIEW, 300);
+        record(2L, TrendingTracker.Signal.ADD_TO_CART, 150);
+        record(3L, TrendingTracker.Signal.VIEW, 200);
+
+        // When
+        tracker.refresh(now);
+
+        // Then
+        List<TrendingTracker.TrendingProduct> top = tracker.top(10);
+        assertEquals(List.of(2L, 1L, 3L), top.stream().map(TrendingTracker.TrendingProduct::productId).toList());
+        assertTrue(top.get(0).score() >= 450, "count-min estimates never undercount");
+    }
+
+    @Test
+    void refresh_ShouldForgetEventsOlderThanTheWindow() {
+        // Given
+        record(1L, TrendingTracker.Signal.VIEW, 50);
+        tracker.refresh(now);
+        tracker.refresh(now + 2 * BUCKET_MILLIS);
+        record(2L, TrendingTracker.Signal.VIEW, 10);
+
+        // When
+        tracker.refresh(now + 3 * BUCKET_MILLIS);
+        List<Long> withinWindow = tracker.top(10).stream().map(TrendingTracker.TrendingProduct::productId).toList();
+        tracker.refresh(now + 6 * BUCKET_MILLIS);
+        List<Long> afterWindow = tracker.top(10).stream().map(TrendingTracker.TrendingProduct::productId).toList();
+
+        // Then
+        assertEquals(List.of(1L, 2L), withinWindow);
+        assertEquals(List.of(2L), afterWindow);
+    }
+
+    private void record(long productId, TrendingTracker.Signal signal, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(productId, signal);
+        }
+    }
+}
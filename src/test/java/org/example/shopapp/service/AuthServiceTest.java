@@ -4,6 +4,9 @@ import org.example.shopapp.auth.dto.request.LoginRequest;
 import org.example.shopapp.auth.dto.request.RegisterRequest;
 import org.example.shopapp.common.entity.User;
 import org.example.shopapp.auth.repository.UserRepository;
+import org.example.shopapp.auth.service.LoginAttemptService;
+import org.example.shopapp.common.exception.LoginThrottledException;
+import org.example.shopapp.common.repository.TokenRepository;
 import org.example.shopapp.common.security.JwtUtil;
 import org.example.shopapp.auth.service.AuthService;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,6 +26,7 @@ import java.time.LocalDateTime;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +44,12 @@ class AuthServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
     
+    @Mock
+    private TokenRepository tokenRepository;
+    
+    @Mock
+    private LoginAttemptService loginAttemptService;
+    
     @InjectMocks
     private AuthService authService;
     
@@ -152,4 +163,27 @@ class AuthServiceTest {
         verify(jwtUtil).generateToken(any(User.class));
         verify(jwtUtil).generateRefreshToken(any(User.class));
     }
+    
+    @Test
+    void login_ShouldNotAuthenticate_WhenLoginThrottled() {
+        // Given
+        doThrow(new LoginThrottledException("Too many failed login attempts. Please try again later.", 900))
+                .when(loginAttemptService).checkAllowed(eq("test@example.com"), any());
+        
+        // When & Then
+        assertThrows(LoginThrottledException.class, () -> authService.login(loginRequest));
+        verify(authenticationManager, never()).authenticate(any());
+    }
+    
+    @Test
+    void login_ShouldRecordFailure_WhenBadCredentials() {
+        // Given
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+        
+        // When & Then
+        assertThrows(BadCredentialsException.class, () -> authService.login(loginRequest));
+        verify(loginAttemptService).loginFailed(eq("test@example.com"), any());
+        verify(loginAttemptService, never()).loginSucceeded(anyString());
+    }
 }
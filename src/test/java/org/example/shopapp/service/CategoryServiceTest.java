@@ -0,0 +1,96 @@
+package org.example.shopapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.shopapp.common.entity.Category;
+import org.example.shopapp.product.dto.response.CategoryResponse;
+import org.example.shopapp.product.repository.CategoryRepository;
+import org.example.shopapp.product.service.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryServiceTest {
+    
+    @Mock
+    private CategoryRepository categoryRepository;
+    
+    private CategoryService categoryService;
+    
+    private Category electronics;
+    
+    @BeforeEach
+    void setUp() {
+        categoryService = new CategoryService(categoryRepository, new SimpleMeterRegistry(), Duration.ofMinutes(1),
+                Duration.ofSeconds(5));
+        electronics = Category.builder()
+                .id(1L)
+                .name("Electronics")
+                .description("Devices")
+                .build();
+    }
+    
+    @Test
+    void getAllCategories_ShouldServeFromSnapshot_AfterFirstLoad() {
+        // Given
+        when(categoryRepository.findAll()).thenReturn(List.of(electronics));
+        
+        // When
+        List<CategoryResponse> first = categoryService.getAllCategories();
+        List<CategoryResponse> second = categoryService.getAllCategories();
+        CategoryResponse byId = categoryService.getCategoryById(1L);
+        
+        // Then
+        assertEquals(1, first.size());
+        assertSame(first, second);
+        assertEquals("Electronics", byId.getName());
+        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, never()).findByIdWithProducts(any());
+    }
+    
+    @Test
+    void updateCategory_ShouldReplaceSnapshotAndVersion() {
+        // Given
+        when(categoryRepository.findAll()).thenReturn(List.of(electronics));
+        CategoryService.CategorySnapshot before = categoryService.getCategorySnapshot();
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(electronics));
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        categoryService.updateCategory(1L, "Gadgets", "Devices");
+        CategoryService.CategorySnapshot after = categoryService.getCategorySnapshot();
+        
+        // Then
+        assertNotEquals(before.eTag(), after.eTag());
+        assertEquals("Gadgets", after.byId().get(1L).getName());
+        verify(categoryRepository, times(2)).findAll();
+    }
+    
+    @Test
+    void getCategorySnapshot_ShouldReload_OnceMaxAgePassed() {
+        // Given: a snapshot that expires as soon as it is loaded
+        categoryService = new CategoryService(categoryRepository, new SimpleMeterRegistry(), Duration.ZERO,
+                Duration.ofSeconds(5));
+        when(categoryRepository.findAll()).thenReturn(List.of(electronics));
+        CategoryService.CategorySnapshot before = categoryService.getCategorySnapshot();
+        
+        // When: another instance renamed the category
+        electronics.setName("Gadgets");
+        CategoryService.CategorySnapshot after = categoryService.getCategorySnapshot();
+        
+        // Then
+        assertNotEquals(before.eTag(), after.eTag());
+        assertEquals("Gadgets", after.byId().get(1L).getName());
+        verify(categoryRepository, times(2)).findAll();
+    }
+}